@@ -0,0 +1,39 @@
+-- Benchmark: busca de usuário por email (login / check-email / forgot-password)
+--
+-- Uso (banco descartável, com as migrações aplicadas até V26 para o "antes"):
+--   mysql -u root moneylegal_bench < benchmarks/email-lookup.sql
+-- Depois aplique V27 (mvn flyway:migrate ou subir a aplicação) e rode apenas a seção "CONSULTAS" de novo.
+
+-- ============================================================
+-- SEED: ~3 milhões de usuários
+-- ============================================================
+SET SESSION cte_max_recursion_depth = 3000000;
+
+INSERT INTO users (id, email, password_hash, name, email_verified, is_active, created_at, updated_at)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 3000000
+)
+SELECT UUID(),
+       CONCAT(IF(n % 7 = 0, 'User', 'user'), n, '@Bench.MoneyLegal.com'),
+       '$2a$10$abcdefghijklmnopqrstuuJ0sX9yKQ7t8W1m2n3o4p5q6r7s8t9u0',
+       CONCAT('Usuário ', n),
+       TRUE, TRUE, NOW(6), NOW(6)
+FROM seq;
+
+ANALYZE TABLE users;
+
+-- ============================================================
+-- CONSULTAS
+-- ============================================================
+
+-- Antes (V26): LOWER(email) = LOWER(?) -> full scan em users
+EXPLAIN ANALYZE
+SELECT * FROM users WHERE LOWER(email) = LOWER('User2999997@bench.moneylegal.com');
+
+-- Depois (V27): email_normalized = LOWER(TRIM(?)) -> lookup em uk_users_email_normalized
+EXPLAIN ANALYZE
+SELECT * FROM users WHERE email_normalized = LOWER(TRIM(' User2999997@bench.moneylegal.com '));
+
+EXPLAIN ANALYZE
+SELECT COUNT(*) > 0 FROM users
+WHERE email_normalized = LOWER(TRIM('user1500000@bench.moneylegal.com')) AND password_hash IS NOT NULL;
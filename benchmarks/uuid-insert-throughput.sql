@@ -0,0 +1,116 @@
+-- Benchmark: throughput de INSERT e tamanho de índice - UUIDv4 VARCHAR(36) x UUIDv7 BINARY(16) (V32)
+--
+-- Uso (banco descartável; tabelas próprias, não depende das migrações):
+--   mysql -u root moneylegal_bench < benchmarks/uuid-insert-throughput.sql
+-- O cliente mysql mostra o tempo de cada CALL; compare também as seções "TAMANHO" e "PAGE SPLITS".
+-- Para ver o efeito do buffer pool, rode com innodb_buffer_pool_size menor que o índice (ex.: 128M).
+
+SET @rows = 2000000;
+SET @batch = 1000;
+
+DROP TABLE IF EXISTS bench_uuid_v4_varchar;
+DROP TABLE IF EXISTS bench_uuid_v7_binary;
+
+-- Mesmo formato de users antes/depois de V32: PK + um índice secundário (FK típica)
+CREATE TABLE bench_uuid_v4_varchar (
+    id VARCHAR(36) NOT NULL PRIMARY KEY,
+    owner_id VARCHAR(36) NOT NULL,
+    payload VARCHAR(100) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    INDEX idx_owner (owner_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE bench_uuid_v7_binary (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    owner_id BINARY(16) NOT NULL,
+    payload VARCHAR(100) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    INDEX idx_owner (owner_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- UUIDv7 no mesmo layout do Uuids.newV7(): 48 bits ms | 7 | 12 bits sequência | variante | aleatório.
+-- O relógio é simulado (base + n / 16 ms) para o resultado não depender da velocidade da máquina.
+DROP FUNCTION IF EXISTS bench_uuid_v7;
+DELIMITER //
+CREATE FUNCTION bench_uuid_v7(base_ms BIGINT, n BIGINT) RETURNS BINARY(16) NOT DETERMINISTIC NO SQL
+BEGIN
+    RETURN UNHEX(CONCAT(
+        LPAD(HEX(base_ms + (n DIV 16)), 12, '0'),
+        '7', LPAD(HEX(n MOD 16), 3, '0'),
+        HEX(8 + FLOOR(RAND() * 4)), LPAD(HEX(FLOOR(RAND() * 4096)), 3, '0'),
+        LPAD(HEX(FLOOR(RAND() * 281474976710656)), 12, '0')));
+END //
+
+-- Inserções linha a linha com commit a cada @batch (aproxima o padrão da aplicação)
+DROP PROCEDURE IF EXISTS bench_insert_v4 //
+CREATE PROCEDURE bench_insert_v4(total INT, batch INT)
+BEGIN
+    DECLARE i INT DEFAULT 0;
+    START TRANSACTION;
+    WHILE i < total DO
+        INSERT INTO bench_uuid_v4_varchar (id, owner_id, payload, created_at)
+        VALUES (UUID(), UUID(), CONCAT('payload ', i), NOW(6));
+        SET i = i + 1;
+        IF i MOD batch = 0 THEN
+            COMMIT;
+            START TRANSACTION;
+        END IF;
+    END WHILE;
+    COMMIT;
+END //
+
+DROP PROCEDURE IF EXISTS bench_insert_v7 //
+CREATE PROCEDURE bench_insert_v7(total INT, batch INT)
+BEGIN
+    DECLARE i INT DEFAULT 0;
+    DECLARE base_ms BIGINT DEFAULT FLOOR(UNIX_TIMESTAMP(NOW(3)) * 1000);
+    START TRANSACTION;
+    WHILE i < total DO
+        INSERT INTO bench_uuid_v7_binary (id, owner_id, payload, created_at)
+        VALUES (bench_uuid_v7(base_ms, i), bench_uuid_v7(base_ms, i), CONCAT('payload ', i), NOW(6));
+        SET i = i + 1;
+        IF i MOD batch = 0 THEN
+            COMMIT;
+            START TRANSACTION;
+        END IF;
+    END WHILE;
+    COMMIT;
+END //
+DELIMITER ;
+
+-- ============================================================
+-- INSERÇÃO
+-- ============================================================
+SET GLOBAL innodb_monitor_enable = 'index_page_splits';
+
+SET GLOBAL innodb_monitor_reset = 'index_page_splits';
+CALL bench_insert_v4(@rows, @batch);
+SELECT 'v4 VARCHAR(36)' AS variante, COUNT AS page_splits
+FROM information_schema.INNODB_METRICS WHERE NAME = 'index_page_splits';
+
+SET GLOBAL innodb_monitor_reset = 'index_page_splits';
+CALL bench_insert_v7(@rows, @batch);
+SELECT 'v7 BINARY(16)' AS variante, COUNT AS page_splits
+FROM information_schema.INNODB_METRICS WHERE NAME = 'index_page_splits';
+
+-- ============================================================
+-- TAMANHO
+-- ============================================================
+ANALYZE TABLE bench_uuid_v4_varchar, bench_uuid_v7_binary;
+
+SELECT table_name, index_name,
+       ROUND(stat_value * @@innodb_page_size / 1024 / 1024, 1) AS size_mb
+FROM mysql.innodb_index_stats
+WHERE database_name = DATABASE()
+  AND table_name IN ('bench_uuid_v4_varchar', 'bench_uuid_v7_binary')
+  AND stat_name = 'size'
+ORDER BY table_name, index_name;
+
+-- ============================================================
+-- LIMPEZA
+-- ============================================================
+DROP PROCEDURE bench_insert_v4;
+DROP PROCEDURE bench_insert_v7;
+DROP FUNCTION bench_uuid_v7;
+DROP TABLE bench_uuid_v4_varchar;
+DROP TABLE bench_uuid_v7_binary;
@@ -0,0 +1,123 @@
+package com.moneylegal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.moneylegal.auth.dto.AuthResponse;
+import com.moneylegal.profile.dto.ProfileResponseDTO;
+import com.moneylegal.tenant.dto.TenantResponseDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização das respostas mais frequentes (mesma configuração de datas do Spring Boot)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper mapper;
+    private AuthResponse authResponse;
+    private TenantResponseDTO tenantResponse;
+    private ProfileResponseDTO profileResponse;
+
+    @Setup
+    public void setup() {
+        mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        authResponse = AuthResponse.builder()
+                .accessToken("eyJhbGciOiJIUzUxMiJ9." + "x".repeat(400))
+                .refreshToken("0190f5a2-7b3c-7d4e-8f60-1a2b3c4d5e6f")
+                .tokenType("Bearer")
+                .expiresIn(900L)
+                .user(AuthResponse.UserDTO.builder()
+                        .id("0190f5a2-7b3c-7d4e-8f60-1a2b3c4d5e6f")
+                        .name("Maria Silva")
+                        .email("maria@example.com")
+                        .emailVerified(true)
+                        .phoneVerified(false)
+                        .build())
+                .defaultTenant(AuthResponse.TenantDTO.builder()
+                        .id("0190f5a2-7b3c-7d4e-8f60-6f5e4d3c2b1a")
+                        .name("Maria Silva")
+                        .slug("maria-silva")
+                        .type("PERSONAL")
+                        .plan("FREE")
+                        .role("OWNER")
+                        .build())
+                .build();
+
+        tenantResponse = TenantResponseDTO.builder()
+                .id("0190f5a2-7b3c-7d4e-8f60-6f5e4d3c2b1a")
+                .name("Escritório Silva")
+                .slug("escritorio-silva")
+                .type("BUSINESS")
+                .plan("PRO")
+                .ownerId("0190f5a2-7b3c-7d4e-8f60-1a2b3c4d5e6f")
+                .subscriptionStatus("ACTIVE")
+                .subscriptionExpiresAt(LocalDateTime.of(2027, 1, 1, 0, 0))
+                .maxMembers(10)
+                .maxAccounts(50)
+                .maxBudgets(20)
+                .primaryColor("#0A0E16")
+                .isActive(true)
+                .createdAt(LocalDateTime.of(2025, 3, 14, 9, 30))
+                .currentMemberCount(4)
+                .userRole("OWNER")
+                .build();
+
+        profileResponse = ProfileResponseDTO.builder()
+                .id("0190f5a2-7b3c-7d4e-8f60-aaaaaaaaaaaa")
+                .userId("0190f5a2-7b3c-7d4e-8f60-1a2b3c4d5e6f")
+                .tipo("PESSOA_JURIDICA")
+                .slug("escritorio-silva")
+                .isCompleted(true)
+                .pessoaJuridica(ProfileResponseDTO.PessoaJuridicaDTO.builder()
+                        .razaoSocial("Escritório Silva Advocacia Ltda.")
+                        .nomeFantasia("Escritório Silva")
+                        .cnpj("11.222.333/0001-81")
+                        .dataFundacao(LocalDate.of(2010, 5, 20))
+                        .porteEmpresa(ProfileResponseDTO.LookupResolvedDTO.of("porte-me", "Microempresa", "store"))
+                        .naturezaJuridica(ProfileResponseDTO.LookupResolvedDTO.of("nat-ltda", "Sociedade Limitada", "briefcase"))
+                        .atividadeCategoria(ProfileResponseDTO.LookupResolvedDTO.of("cat-juridico", "Jurídico", "scale"))
+                        .atividadeItem(ProfileResponseDTO.LookupResolvedDTO.of("item-advocacia", "Advocacia", "gavel"))
+                        .telefone("(11) 98765-4321")
+                        .nomeResponsavel("Maria Silva")
+                        .emailResponsavel("maria@example.com")
+                        .build())
+                .address(ProfileResponseDTO.AddressDTO.builder()
+                        .cep("01310-100")
+                        .logradouro("Avenida Paulista")
+                        .numero("1000")
+                        .bairro("Bela Vista")
+                        .cidade("São Paulo")
+                        .estado("SP")
+                        .pais("Brasil")
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] authResponse() throws Exception {
+        return mapper.writeValueAsBytes(authResponse);
+    }
+
+    @Benchmark
+    public byte[] tenantResponse() throws Exception {
+        return mapper.writeValueAsBytes(tenantResponse);
+    }
+
+    @Benchmark
+    public byte[] profileResponse() throws Exception {
+        return mapper.writeValueAsBytes(profileResponse);
+    }
+}
@@ -0,0 +1,33 @@
+package com.moneylegal.auth.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem dos templates HTML (sem envio)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EmailTemplateBenchmark {
+
+    private final EmailService emailService = new EmailService(null, null, null);
+
+    @Benchmark
+    public String passwordReset() {
+        return emailService.buildPasswordResetEmailHtml("482913", "Maria Silva", "maria@example.com");
+    }
+
+    @Benchmark
+    public String verification() {
+        return emailService.buildVerificationEmailHtml("0190f5a2-7b3c-7d4e-8f60-1a2b3c4d5e6f", "Maria Silva");
+    }
+
+    @Benchmark
+    public String welcome() {
+        return emailService.buildWelcomeEmailHtml("Maria Silva", "maria@example.com");
+    }
+}
@@ -0,0 +1,81 @@
+package com.moneylegal.profile.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DocumentValidationBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private final DocumentValidationService service = new DocumentValidationService();
+
+    @Param({"529.982.247-25"})
+    public String cpf;
+
+    @Param({"11.222.333/0001-81", "12.ABC.345/01DE-35"})
+    public String cnpj;
+
+    private CharSequence[] cpfBatch;
+    private CharSequence[] cnpjBatch;
+    private DocumentValidator.Result[] results;
+
+    @Setup
+    public void setup() {
+        cpfBatch = new CharSequence[BATCH_SIZE];
+        cnpjBatch = new CharSequence[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            cpfBatch[i] = cpf;
+            cnpjBatch[i] = cnpj;
+        }
+        results = new DocumentValidator.Result[BATCH_SIZE];
+    }
+
+    // API do serviço (void + exceção): o resultado vira boolean para o JIT não descartar a validação
+    @Benchmark
+    public boolean validateCpf() {
+        try {
+            service.validateCpf(cpf);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean validateCnpj() {
+        try {
+            service.validateCnpj(cnpj);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public DocumentValidator.Result validatorCpf() {
+        return DocumentValidator.validateCpf(cpf);
+    }
+
+    @Benchmark
+    public DocumentValidator.Result validatorCnpj() {
+        return DocumentValidator.validateCnpj(cnpj);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int validateCpfBatch() {
+        return DocumentValidator.validateCpfs(cpfBatch, results);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int validateCnpjBatch() {
+        return DocumentValidator.validateCnpjs(cnpjBatch, results);
+    }
+}
@@ -0,0 +1,63 @@
+package com.moneylegal.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emissão e validação de access token (HS512).
+ * cacheEnabled=false mede a verificação de assinatura pura; true, o caminho quente do VerifiedTokenCache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtTokenProviderBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    private JwtTokenProvider provider;
+    private AuthenticatedUser principal;
+    private String token;
+
+    @Setup
+    public void setup() {
+        byte[] key = new byte[64];
+        new SecureRandom().nextBytes(key);
+
+        provider = new JwtTokenProvider(
+                Base64.getEncoder().encodeToString(key),
+                900_000,
+                new VerifiedTokenCache(cacheEnabled, 10_000),
+                new SimpleMeterRegistry());
+
+        principal = AuthenticatedUser.builder()
+                .userId("0190f5a2-7b3c-7d4e-8f60-1a2b3c4d5e6f")
+                .active(true)
+                .authorities(List.of())
+                .defaultTenantId("0190f5a2-7b3c-7d4e-8f60-6f5e4d3c2b1a")
+                .defaultTenantRole("OWNER")
+                .tokenEpoch(0)
+                .build();
+
+        token = provider.generateAccessToken(principal);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return provider.generateAccessToken(principal);
+    }
+
+    // retorna as claims: o JIT não pode descartar a verificação
+    @Benchmark
+    public Claims validateAndGetClaims() {
+        return provider.validateAndGetClaims(token);
+    }
+}
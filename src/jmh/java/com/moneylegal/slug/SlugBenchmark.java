@@ -0,0 +1,24 @@
+package com.moneylegal.slug;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalização do slug (a reserva no banco fica de fora)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SlugBenchmark {
+
+    @Param({"Escritório João & Associados Ltda.", "maria"})
+    public String text;
+
+    @Benchmark
+    public String tenantSlug() {
+        return SlugAllocator.toBaseSlug(SlugReservation.Scope.TENANT, text);
+    }
+}
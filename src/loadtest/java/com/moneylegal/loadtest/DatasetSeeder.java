@@ -0,0 +1,194 @@
+package com.moneylegal.loadtest;
+
+import com.moneylegal.persistence.Uuids;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Massa sintética para o teste de carga (direto via JDBC, sem passar pelos serviços).
+ *
+ * Por usuário: tenant PERSONAL (OWNER), perfil PF completo com endereço.
+ * A cada usersPerBusinessTenant usuários: um tenant BUSINESS (o primeiro é OWNER, os demais MEMBER),
+ * então GET /tenants devolve 2 tenants por usuário.
+ * Lookups de PJ já vêm da migração V24.
+ *
+ * Idempotente: grava em grupos inteiros (uma transação por lote) e retoma do último grupo completo.
+ */
+class DatasetSeeder {
+
+    private static final int GROUPS_PER_TRANSACTION = 50;
+
+    private static final String INSERT_USER = "INSERT INTO users "
+            + "(id, name, email, password_hash, email_verified, phone_verified, is_active, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, TRUE, FALSE, TRUE, ?, ?)";
+    private static final String INSERT_TENANT = "INSERT INTO tenants "
+            + "(id, name, slug, type, plan, owner_id, subscription_status, is_active, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, 'FREE', ?, 'ACTIVE', TRUE, ?, ?)";
+    private static final String INSERT_MEMBER = "INSERT INTO tenant_members "
+            + "(id, tenant_id, user_id, role, is_active, joined_at) VALUES (?, ?, ?, ?, TRUE, ?)";
+    private static final String INSERT_SLUG = "INSERT INTO slug_reservations (scope, slug) VALUES (?, ?)";
+    private static final String INSERT_PROFILE = "INSERT INTO profiles "
+            + "(id, user_id, tipo, slug, is_completed, created_at) VALUES (?, ?, 'PESSOA_FISICA', ?, TRUE, ?)";
+    private static final String INSERT_PESSOA_FISICA = "INSERT INTO pessoa_fisica "
+            + "(id, profile_id, nome_completo, cpf, data_nascimento, telefone, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ADDRESS = "INSERT INTO addresses "
+            + "(id, profile_id, cep, logradouro, numero, bairro, cidade, estado, pais, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'Brasil', ?)";
+
+    private static final String[][] CITIES = {
+            {"São Paulo", "SP", "01310-100"}, {"Rio de Janeiro", "RJ", "20040-020"},
+            {"Belo Horizonte", "MG", "30130-010"}, {"Curitiba", "PR", "80010-000"},
+            {"Porto Alegre", "RS", "90010-150"}, {"Recife", "PE", "50030-230"}
+    };
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final LoadTestOptions options;
+
+    DatasetSeeder(DataSource dataSource, LoadTestOptions options) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.options = options;
+    }
+
+    void seed() {
+        Integer existing = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email LIKE ?", Integer.class, LoadTestOptions.EMAIL_PREFIX + "%");
+        int groupSize = options.usersPerBusinessTenant();
+        int totalGroups = (options.users() + groupSize - 1) / groupSize;
+        int firstGroup = existing == null ? 0 : existing / groupSize;
+
+        if (firstGroup >= totalGroups) {
+            System.out.printf("[SEED] %d usuários de carga já existem%n", existing);
+            return;
+        }
+
+        System.out.printf("[SEED] Gerando usuários %d..%d (BCrypt strength %d)%n",
+                firstGroup * groupSize, options.users() - 1, options.bcryptStrength());
+        // mesmo hash para todos: o custo do BCrypt fica no login, não na massa
+        String passwordHash = "{bcrypt}" + new BCryptPasswordEncoder(options.bcryptStrength()).encode(options.password());
+
+        long start = System.currentTimeMillis();
+        for (int group = firstGroup; group < totalGroups; group += GROUPS_PER_TRANSACTION) {
+            int from = group;
+            int to = Math.min(group + GROUPS_PER_TRANSACTION, totalGroups);
+            tx.executeWithoutResult(status -> insertGroups(from, to, passwordHash));
+            System.out.printf("[SEED] %d/%d usuários%n", Math.min(to * groupSize, options.users()), options.users());
+        }
+        System.out.printf("[SEED] Concluído em %ds%n", (System.currentTimeMillis() - start) / 1000);
+    }
+
+    private void insertGroups(int fromGroup, int toGroup, String passwordHash) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Batch users = new Batch(INSERT_USER);
+        Batch tenants = new Batch(INSERT_TENANT);
+        Batch members = new Batch(INSERT_MEMBER);
+        Batch slugs = new Batch(INSERT_SLUG);
+        Batch profiles = new Batch(INSERT_PROFILE);
+        Batch pessoasFisicas = new Batch(INSERT_PESSOA_FISICA);
+        Batch addresses = new Batch(INSERT_ADDRESS);
+
+        int groupSize = options.usersPerBusinessTenant();
+        for (int group = fromGroup; group < toGroup; group++) {
+            byte[] businessTenantId = null;
+
+            for (int i = group * groupSize; i < Math.min((group + 1) * groupSize, options.users()); i++) {
+                String name = "Usuário Carga " + i;
+                byte[] userId = newId();
+                users.add(userId, name, LoadTestOptions.email(i), passwordHash, now, now);
+
+                String personalSlug = "loadtest-" + i;
+                byte[] personalTenantId = newId();
+                tenants.add(personalTenantId, name, personalSlug, "PERSONAL", userId, now, now);
+                slugs.add("TENANT", personalSlug);
+                members.add(newId(), personalTenantId, userId, "OWNER", now);
+
+                if (businessTenantId == null) {
+                    String businessSlug = "loadtest-empresa-" + group;
+                    businessTenantId = newId();
+                    tenants.add(businessTenantId, "Empresa Carga " + group, businessSlug, "BUSINESS", userId, now, now);
+                    slugs.add("TENANT", businessSlug);
+                    members.add(newId(), businessTenantId, userId, "OWNER", now);
+                } else {
+                    members.add(newId(), businessTenantId, userId, "MEMBER", now);
+                }
+
+                byte[] profileId = newId();
+                profiles.add(profileId, userId, personalSlug, now);
+                slugs.add("PROFILE", personalSlug);
+                pessoasFisicas.add(newId(), profileId, name, cpf(i),
+                        LocalDate.of(1970 + i % 35, 1 + i % 12, 1 + i % 28), "(11) 9" + String.format("%08d", i % 100_000_000), now);
+                String[] city = CITIES[i % CITIES.length];
+                addresses.add(newId(), profileId, city[2], "Rua Carga " + (i % 500), String.valueOf(1 + i % 2000),
+                        "Centro", city[0], city[1], now);
+            }
+        }
+
+        // ordem das FKs
+        users.flush();
+        tenants.flush();
+        members.flush();
+        slugs.flush();
+        profiles.flush();
+        pessoasFisicas.flush();
+        addresses.flush();
+    }
+
+    private static byte[] newId() {
+        return Uuids.toBytes(Uuids.newV7());
+    }
+
+    /**
+     * CPF válido e único derivado do índice (formato 000.000.000-00)
+     */
+    static String cpf(int index) {
+        int[] d = new int[11];
+        String base = String.format("%09d", 100_000_000 + index);
+        for (int i = 0; i < 9; i++) d[i] = base.charAt(i) - '0';
+        d[9] = checkDigit(d, 9);
+        d[10] = checkDigit(d, 10);
+
+        StringBuilder sb = new StringBuilder(14);
+        for (int i = 0; i < 11; i++) {
+            if (i == 3 || i == 6) sb.append('.');
+            if (i == 9) sb.append('-');
+            sb.append(d[i]);
+        }
+        return sb.toString();
+    }
+
+    private static int checkDigit(int[] d, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) sum += d[i] * (length + 1 - i);
+        int digit = 11 - sum % 11;
+        return digit >= 10 ? 0 : digit;
+    }
+
+    private final class Batch {
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        private Batch(String sql) {
+            this.sql = sql;
+        }
+
+        private void add(Object... row) {
+            rows.add(row);
+        }
+
+        private void flush() {
+            if (!rows.isEmpty()) {
+                jdbc.batchUpdate(sql, rows);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.moneylegal.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências por passo (HdrHistogram, 1µs..60s) + erros; relatório no console e em JSON.
+ */
+class LatencyReport {
+
+    private static final long MAX_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final Map<String, Step> steps = new ConcurrentHashMap<>();
+    private final LongAdder droppedSessions = new LongAdder();
+    private volatile boolean recording;
+
+    void startRecording() {
+        steps.values().forEach(Step::reset);
+        droppedSessions.reset();
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    void success(String step, long nanos) {
+        if (recording) step(step).recorder.recordValue(Math.min(Math.max(nanos, 1_000), MAX_NANOS));
+    }
+
+    void failure(String step, String reason) {
+        if (recording) step(step).errors.computeIfAbsent(reason, r -> new LongAdder()).increment();
+    }
+
+    void dropped() {
+        if (recording) droppedSessions.increment();
+    }
+
+    void print(LoadTestOptions options, double seconds) {
+        System.out.printf("%n[LOAD] %.0fs medidos, taxa alvo %.1f sessões/s, sessões descartadas (max-in-flight): %d%n",
+                seconds, options.rate(), droppedSessions.sum());
+        System.out.printf("%-10s %10s %10s %10s %10s %10s %10s %8s%n",
+                "passo", "req", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "erros");
+        for (String name : ScenarioDriver.STEPS) {
+            Step step = steps.get(name);
+            if (step == null) continue;
+            Histogram h = step.snapshot();
+            System.out.printf("%-10s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %8d%n",
+                    name, h.getTotalCount(), h.getTotalCount() / seconds,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(99)),
+                    ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()), step.errorCount());
+            step.errors.forEach((reason, n) -> System.out.printf("           erro %s: %d%n", reason, n.sum()));
+        }
+    }
+
+    void writeJson(LoadTestOptions options, double seconds) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rate", options.rate());
+        report.put("durationSeconds", seconds);
+        report.put("users", options.users());
+        report.put("droppedSessions", droppedSessions.sum());
+
+        Map<String, Object> byStep = new LinkedHashMap<>();
+        for (String name : ScenarioDriver.STEPS) {
+            Step step = steps.get(name);
+            if (step == null) continue;
+            Histogram h = step.snapshot();
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("count", h.getTotalCount());
+            s.put("throughput", h.getTotalCount() / seconds);
+            s.put("p50Ms", ms(h.getValueAtPercentile(50)));
+            s.put("p99Ms", ms(h.getValueAtPercentile(99)));
+            s.put("p999Ms", ms(h.getValueAtPercentile(99.9)));
+            s.put("maxMs", ms(h.getMaxValue()));
+            Map<String, Long> errors = new LinkedHashMap<>();
+            step.errors.forEach((reason, n) -> errors.put(reason, n.sum()));
+            s.put("errors", errors);
+            byStep.put(name, s);
+        }
+        report.put("steps", byStep);
+
+        File file = new File(options.reportFile());
+        if (file.getParentFile() != null) file.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("[LOAD] Relatório JSON: " + file.getAbsolutePath());
+    }
+
+    private Step step(String name) {
+        return steps.computeIfAbsent(name, n -> new Step());
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Step {
+        private final Recorder recorder = new Recorder(MAX_NANOS, 3);
+        private final Histogram total = new Histogram(MAX_NANOS, 3);
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        private synchronized Histogram snapshot() {
+            total.add(recorder.getIntervalHistogram());
+            return total;
+        }
+
+        private synchronized void reset() {
+            recorder.reset();
+            total.reset();
+            errors.clear();
+        }
+
+        private long errorCount() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+}
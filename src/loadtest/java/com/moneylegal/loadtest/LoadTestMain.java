@@ -0,0 +1,88 @@
+package com.moneylegal.loadtest;
+
+import com.moneylegal.MoneyLegalApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Teste de carga local (offline, uma máquina).
+ *
+ * 1. Sobe a aplicação apontando para um MySQL local descartável (ver src/loadtest/scripts/local-mysql.sh)
+ *    - ou usa uma instância já no ar com -Dloadtest.target=http://host:porta
+ * 2. Gera a massa sintética (usuários, tenants, memberships, perfis) se ainda não existir
+ * 3. Dispara sessões em taxa fixa e reporta throughput e p50/p99/p999 por passo
+ *
+ *   mvn -Ploadtest verify -Dloadtest.users=20000 -Dloadtest.rate=100 -Dloadtest.duration-seconds=120
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.target();
+        DataSource dataSource;
+
+        if (options.bootsApplication()) {
+            context = new SpringApplicationBuilder(MoneyLegalApplication.class)
+                    .run(applicationArgs(options));
+            baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            dataSource = context.getBean(DataSource.class);
+        } else {
+            // aplicação externa: as migrações já foram aplicadas por ela
+            dataSource = new DriverManagerDataSource(options.jdbcUrl(), options.dbUser(), options.dbPassword());
+        }
+
+        try {
+            new DatasetSeeder(dataSource, options).seed();
+
+            LatencyReport report = new LatencyReport();
+            long start = System.nanoTime();
+            new ScenarioDriver(options, baseUrl, report).run();
+            double seconds = Math.min((System.nanoTime() - start) / 1e9 - options.warmup().toSeconds(),
+                    options.duration().toSeconds());
+
+            report.print(options, seconds);
+            report.writeJson(options, seconds);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Sobrescreve o ambiente de dev (variáveis SERVER_DEV_*, SendGrid, JWT) com valores locais
+     */
+    private static String[] applicationArgs(LoadTestOptions options) {
+        byte[] jwtKey = new byte[64];
+        new SecureRandom().nextBytes(jwtKey);
+
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + options.jdbcUrl(),
+                "--spring.datasource.username=" + options.dbUser(),
+                "--spring.datasource.password=" + options.dbPassword(),
+                "--spring.jpa.show-sql=false",
+                "--jwt.secret=" + Base64.getEncoder().encodeToString(jwtKey),
+                "--sendgrid.api-key=loadtest",
+                "--sendgrid.from-email=loadtest@moneylegal.local",
+                "--sendgrid.from-name=Load Test",
+                "--sendgrid.host=127.0.0.1:9",
+                "--SERVER_DEV_FRONT=localhost:3000",
+                // mesmo custo do hash gerado pelo DatasetSeeder (sem rehash no primeiro login)
+                "--security.password-hashing.bcrypt.strength=" + options.bcryptStrength(),
+                "--logging.level.com.moneylegal=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"
+        ));
+        return args.toArray(String[]::new);
+    }
+}
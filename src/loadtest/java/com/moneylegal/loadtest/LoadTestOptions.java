@@ -0,0 +1,60 @@
+package com.moneylegal.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Parâmetros do teste de carga (-Dloadtest.*)
+ */
+record LoadTestOptions(
+        String jdbcUrl,
+        String dbUser,
+        String dbPassword,
+        String target,
+        int users,
+        int usersPerBusinessTenant,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        int maxInFlight,
+        int httpThreads,
+        String password,
+        int bcryptStrength,
+        String reportFile
+) {
+
+    static final String EMAIL_PREFIX = "loadtest-";
+    static final String EMAIL_DOMAIN = "@loadtest.moneylegal.local";
+
+    static LoadTestOptions fromSystemProperties() {
+        return new LoadTestOptions(
+                prop("db.url", "jdbc:mysql://127.0.0.1:3307/moneylegal_loadtest"
+                        + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC"
+                        + "&createDatabaseIfNotExist=true&rewriteBatchedStatements=true"),
+                prop("db.user", "root"),
+                prop("db.password", ""),
+                prop("target", ""),
+                Integer.parseInt(prop("users", "10000")),
+                Integer.parseInt(prop("users-per-business-tenant", "20")),
+                Double.parseDouble(prop("rate", "50")),
+                Duration.ofSeconds(Long.parseLong(prop("warmup-seconds", "15"))),
+                Duration.ofSeconds(Long.parseLong(prop("duration-seconds", "60"))),
+                Integer.parseInt(prop("max-in-flight", "500")),
+                Integer.parseInt(prop("http-threads", "16")),
+                prop("password", "LoadTest@123"),
+                Integer.parseInt(prop("bcrypt-strength", "10")),
+                prop("report", "target/loadtest-report.json")
+        );
+    }
+
+    static String email(int index) {
+        return EMAIL_PREFIX + index + EMAIL_DOMAIN;
+    }
+
+    boolean bootsApplication() {
+        return target.isBlank();
+    }
+
+    private static String prop(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
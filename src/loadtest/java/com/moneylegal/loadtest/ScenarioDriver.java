@@ -0,0 +1,152 @@
+package com.moneylegal.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sessões em modelo aberto: novas sessões chegam a uma taxa fixa, independente da latência
+ * (uma aplicação lenta não "freia" o gerador e esconde a fila).
+ *
+ * Sessão: login -> refresh -> GET /tenants -> GET /profile/me -> GET lookups de PJ
+ */
+class ScenarioDriver {
+
+    static final String[] STEPS = {"login", "refresh", "tenants", "profile", "lookups"};
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final String baseUrl;
+    private final LatencyReport report;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ExecutorService httpExecutor;
+    private final HttpClient http;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    ScenarioDriver(LoadTestOptions options, String baseUrl, LatencyReport report) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.report = report;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.httpExecutor = Executors.newFixedThreadPool(options.httpThreads(), r -> {
+            Thread t = new Thread(r, "loadtest-http-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.http = HttpClient.newBuilder()
+                .executor(httpExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Aquecimento (não medido) seguido da janela de medição
+     */
+    void run() throws InterruptedException {
+        ScheduledExecutorService arrivals = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "loadtest-arrivals");
+            t.setDaemon(true);
+            return t;
+        });
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate());
+        arrivals.scheduleAtFixedRate(this::arrive, 0, periodNanos, TimeUnit.NANOSECONDS);
+
+        System.out.printf("[LOAD] Aquecendo por %ds a %.1f sessões/s%n", options.warmup().toSeconds(), options.rate());
+        Thread.sleep(options.warmup().toMillis());
+
+        System.out.printf("[LOAD] Medindo por %ds%n", options.duration().toSeconds());
+        report.startRecording();
+        Thread.sleep(options.duration().toMillis());
+        report.stopRecording();
+
+        arrivals.shutdownNow();
+        httpExecutor.shutdownNow();
+    }
+
+    private void arrive() {
+        if (inFlight.incrementAndGet() > options.maxInFlight()) {
+            inFlight.decrementAndGet();
+            report.dropped();
+            return;
+        }
+
+        String email = LoadTestOptions.email(ThreadLocalRandom.current().nextInt(options.users()));
+        session(email).whenComplete((ignored, error) -> inFlight.decrementAndGet());
+    }
+
+    private CompletableFuture<Void> session(String email) {
+        String login = "{\"email\":\"" + email + "\",\"password\":\"" + options.password() + "\"}";
+
+        return call("login", post("/api/v1/auth/login", login, null))
+                .thenCompose(auth -> call("refresh", post("/api/v1/auth/refresh",
+                        "{\"refreshToken\":\"" + auth.path("refreshToken").asText() + "\"}", null)))
+                .thenCompose(auth -> {
+                    String token = auth.path("accessToken").asText();
+                    return call("tenants", get("/api/v1/tenants", token))
+                            .thenCompose(ignored -> call("profile", get("/api/v1/profile/me", token)))
+                            .thenCompose(ignored -> call("lookups", get("/api/v1/profile/lookups/pessoa-juridica", token)));
+                })
+                .handle((ignored, error) -> null);
+    }
+
+    /**
+     * Executa um passo; status != 2xx aborta o restante da sessão
+     */
+    private CompletableFuture<JsonNode> call(String step, HttpRequest request) {
+        long start = System.nanoTime();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    long elapsed = System.nanoTime() - start;
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        report.failure(step, cause.getClass().getSimpleName());
+                        throw new CompletionException(cause);
+                    }
+                    if (response.statusCode() / 100 != 2) {
+                        report.failure(step, "HTTP " + response.statusCode());
+                        throw new CompletionException(new IllegalStateException(step + ": HTTP " + response.statusCode()));
+                    }
+
+                    report.success(step, elapsed);
+                    try {
+                        return mapper.readTree(response.body());
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    private HttpRequest post(String path, String json, String token) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# MySQL 8 descartável para o teste de carga (sem Docker, sem rede).
+# Usa o mysqld instalado na máquina com datadir próprio em /tmp.
+#
+#   src/loadtest/scripts/local-mysql.sh start   # inicializa (se preciso) e sobe na porta 3307
+#   src/loadtest/scripts/local-mysql.sh stop
+#   src/loadtest/scripts/local-mysql.sh reset   # apaga o datadir (massa e schema)
+set -euo pipefail
+
+DATADIR="${LOADTEST_MYSQL_DATADIR:-/tmp/moneylegal-loadtest-mysql}"
+PORT="${LOADTEST_MYSQL_PORT:-3307}"
+SOCKET="$DATADIR/mysqld.sock"
+PIDFILE="$DATADIR/mysqld.pid"
+
+start() {
+    if [ ! -d "$DATADIR/mysql" ]; then
+        mkdir -p "$DATADIR"
+        mysqld --initialize-insecure --datadir="$DATADIR" --user="$(whoami)"
+    fi
+
+    mysqld --datadir="$DATADIR" --port="$PORT" --bind-address=127.0.0.1 \
+        --socket="$SOCKET" --pid-file="$PIDFILE" --mysqlx=OFF --user="$(whoami)" \
+        --innodb-buffer-pool-size="${LOADTEST_MYSQL_BUFFER_POOL:-1G}" \
+        --max-connections=500 --log-error="$DATADIR/error.log" &
+
+    for _ in $(seq 1 60); do
+        if mysqladmin --socket="$SOCKET" -uroot ping >/dev/null 2>&1; then
+            echo "MySQL de carga em 127.0.0.1:$PORT (root sem senha, datadir $DATADIR)"
+            return 0
+        fi
+        sleep 1
+    done
+    echo "MySQL não subiu; veja $DATADIR/error.log" >&2
+    exit 1
+}
+
+stop() {
+    if [ -f "$PIDFILE" ]; then
+        mysqladmin --socket="$SOCKET" -uroot shutdown || kill "$(cat "$PIDFILE")"
+    fi
+}
+
+case "${1:-start}" in
+    start) start ;;
+    stop) stop ;;
+    reset) stop; rm -rf "$DATADIR" ;;
+    *) echo "uso: $0 start|stop|reset" >&2; exit 2 ;;
+esac
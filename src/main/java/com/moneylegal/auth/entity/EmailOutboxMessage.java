@@ -0,0 +1,126 @@
+package com.moneylegal.auth.entity;
+
+import com.moneylegal.persistence.UuidBinaryType;
+import com.moneylegal.persistence.UuidV7;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade EmailOutboxMessage - Email aguardando envio
+ *
+ * Fluxo:
+ * 1. Serviço de negócio grava a mensagem na mesma transação (PENDING)
+ * 2. EmailOutboxDispatcher reivindica lotes por prioridade (SENDING)
+ * 3. Sucesso -> SENT | Falha -> PENDING com nova tentativa agendada
+ * 4. Esgotadas as tentativas -> DEAD (dead-letter)
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+    @Index(name = "idx_email_outbox_dispatch", columnList = "status, priority, next_attempt_at"),
+    @Index(name = "idx_email_outbox_sent_at", columnList = "sent_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailOutboxMessage {
+
+    /**
+     * Prioridades (menor = mais urgente)
+     */
+    public static final int PRIORITY_OTP = 0;
+    public static final int PRIORITY_TRANSACTIONAL = 5;
+    public static final int PRIORITY_LOW = 9;
+
+    @Id
+    @UuidV7
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "BINARY(16)", updatable = false, nullable = false)
+    private String id;
+
+    @Column(nullable = false, length = 255)
+    private String recipient;
+
+    @Column(nullable = false, length = 255)
+    private String subject;
+
+    @Column(name = "html_body", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String htmlBody;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private Category category;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer priority = PRIORITY_TRANSACTIONAL;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    /**
+     * Business methods
+     */
+    public void markSending(LocalDateTime lockedUntil) {
+        this.status = Status.SENDING;
+        this.lockedUntil = lockedUntil;
+    }
+
+    /**
+     * Factory method
+     */
+    public static EmailOutboxMessage create(String recipient, String subject, String htmlBody, Category category) {
+        return EmailOutboxMessage.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .htmlBody(htmlBody)
+                .category(category)
+                .priority(category.getPriority())
+                .build();
+    }
+
+    public enum Status {
+        PENDING, SENDING, SENT, DEAD
+    }
+
+    @Getter
+    public enum Category {
+        PASSWORD_RESET(PRIORITY_OTP),
+        EMAIL_VERIFICATION_OTP(PRIORITY_OTP),
+        VERIFICATION(PRIORITY_TRANSACTIONAL),
+        WELCOME(PRIORITY_LOW);
+
+        private final int priority;
+
+        Category(int priority) {
+            this.priority = priority;
+        }
+    }
+}
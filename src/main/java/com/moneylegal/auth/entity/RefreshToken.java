@@ -1,9 +1,15 @@
 package com.moneylegal.auth.entity;
 
+import com.moneylegal.persistence.UuidBinaryType;
+import com.moneylegal.persistence.UuidV7;
+import com.moneylegal.persistence.Uuids;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 
 /**
@@ -14,11 +20,14 @@ import java.time.LocalDateTime;
  * 2. AccessToken expira -> Cliente usa refreshToken
  * 3. RefreshToken gera novo par de tokens
  * 4. RefreshToken tem vida útil de 7 dias
+ * 5. Cada refresh rotaciona o token dentro da mesma família (family_id);
+ *    reuso de um token já rotacionado revoga a família inteira
  */
 @Entity
 @Table(name = "refresh_tokens", indexes = {
     @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
-    @Index(name = "idx_refresh_tokens_token", columnList = "token", unique = true),
+    @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+    @Index(name = "uk_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
     @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
 })
 @Getter
@@ -29,16 +38,24 @@ import java.time.LocalDateTime;
 public class RefreshToken {
 
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "uuid2")
-    @Column(length = 36, nullable = false, updatable = false)
+    @UuidV7
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "BINARY(16)", updatable = false, nullable = false)
     private String id;
 
-    @Column(name = "user_id", nullable = false, length = 36)
+    @Type(UuidBinaryType.class)
+    @Column(name = "user_id", columnDefinition = "BINARY(16)", nullable = false)
     private String userId;
 
-    @Column(nullable = false, unique = true, length = 500)
-    private String token;
+    @Type(UuidBinaryType.class)
+    @Column(name = "family_id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+    private String familyId;
+
+    /**
+     * SHA-256 do token (o token em si nunca é gravado)
+     */
+    @Column(name = "token_hash", nullable = false, unique = true, columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
 
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
@@ -54,6 +71,9 @@ public class RefreshToken {
     @Column(name = "revoked_at")
     private LocalDateTime revokedAt;
 
+    @Column(name = "rotated_at")
+    private LocalDateTime rotatedAt;
+
     /**
      * Business methods
      */
@@ -70,14 +90,34 @@ public class RefreshToken {
         this.revokedAt = LocalDateTime.now();
     }
 
+    public boolean isRotated() {
+        return rotatedAt != null;
+    }
+
     /**
-     * Factory method
+     * Factory methods
      */
     public static RefreshToken create(String userId, String token, int expirationDays) {
+        return create(userId, Uuids.newV7(), token, expirationDays);
+    }
+
+    public static RefreshToken create(String userId, String familyId, String token, int expirationDays) {
         return RefreshToken.builder()
             .userId(userId)
-            .token(token)
+            .familyId(familyId)
+            .tokenHash(hash(token))
             .expiresAt(LocalDateTime.now().plusDays(expirationDays))
             .build();
     }
+
+    /**
+     * SHA-256 dos bytes UTF-8 do token (mesmo valor de UNHEX(SHA2(token, 256)) no MySQL)
+     */
+    public static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
 }
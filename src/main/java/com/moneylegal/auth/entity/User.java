@@ -1,10 +1,13 @@
 package com.moneylegal.auth.entity;
 
+import com.moneylegal.persistence.UuidBinaryType;
+import com.moneylegal.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 /**
  * Entidade User - Representa um usuário do sistema
@@ -30,9 +33,9 @@ import java.time.LocalDateTime;
 public class User {
 
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "uuid2")
-    @Column(length = 36, nullable = false, updatable = false)
+    @UuidV7
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "BINARY(16)", updatable = false, nullable = false)
     private String id;
 
     @Column(nullable = false, length = 100)
@@ -41,6 +44,12 @@ public class User {
     @Column(nullable = false, unique = true, length = 255)
     private String email;
 
+    /**
+     * Coluna gerada no banco: LOWER(TRIM(email)) com índice único (somente leitura aqui)
+     */
+    @Column(name = "email_normalized", length = 255, insertable = false, updatable = false)
+    private String emailNormalized;
+
     @Column(name = "password_hash", length = 255)
     private String passwordHash;
 
@@ -91,14 +100,38 @@ public class User {
     @Column(name = "reset_password_code_expires_at")
     private LocalDateTime resetPasswordCodeExpiresAt;
 
+    /**
+     * Revogação de access tokens (logout-all / reset de senha)
+     * Mantida apenas via UserRepository.incrementTokenEpoch (nunca pelo save da entidade)
+     */
+    @Column(name = "token_epoch", nullable = false, insertable = false, updatable = false)
+    @Builder.Default
+    private Integer tokenEpoch = 0;
+
+    @Column(name = "token_epoch_updated_at", insertable = false, updatable = false)
+    private LocalDateTime tokenEpochUpdatedAt;
+
     /**
      * Lifecycle hooks
      */
+    @PrePersist
+    protected void onCreate() {
+        this.email = normalizeEmail(this.email);
+    }
+
     @PreUpdate
     protected void onUpdate() {
+        this.email = normalizeEmail(this.email);
         this.updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * Mesma normalização da coluna gerada email_normalized
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Business methods
      */
@@ -0,0 +1,84 @@
+package com.moneylegal.auth.repository;
+
+import com.moneylegal.auth.entity.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository para EmailOutboxMessage
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, String> {
+
+    /**
+     * Reivindicar lote pronto para envio (por prioridade), ignorando linhas travadas por outra instância.
+     * Percorre idx_email_outbox_dispatch na ordem do ORDER BY: sem filesort, o InnoDB só trava as linhas
+     * lidas até o LIMIT e a próxima instância reivindica as seguintes (com filesort travaria todas).
+     */
+    @Query(value = "SELECT * FROM email_outbox FORCE INDEX (idx_email_outbox_dispatch) " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY priority, next_attempt_at " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutboxMessage> lockPendingBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Mensagens SENDING cujo lease expirou (dispatcher caiu no meio do envio), também com SKIP LOCKED
+     */
+    @Query(value = "SELECT * FROM email_outbox FORCE INDEX (idx_email_outbox_dispatch) " +
+            "WHERE status = 'SENDING' AND locked_until < :now " +
+            "ORDER BY priority, next_attempt_at " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutboxMessage> lockExpiredLeases(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Marcar como enviado
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = 'SENT', m.sentAt = :now, m.attempts = :attempts, " +
+           "m.lockedUntil = null, m.lastError = null WHERE m.id = :id")
+    int markSent(@Param("id") String id, @Param("attempts") int attempts, @Param("now") LocalDateTime now);
+
+    /**
+     * Reagendar nova tentativa
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = 'PENDING', m.attempts = :attempts, " +
+           "m.nextAttemptAt = :nextAttemptAt, m.lockedUntil = null, m.lastError = :error WHERE m.id = :id")
+    int markForRetry(
+            @Param("id") String id,
+            @Param("attempts") int attempts,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("error") String error
+    );
+
+    /**
+     * Dead-letter: tentativas esgotadas
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = 'DEAD', m.attempts = :attempts, " +
+           "m.lockedUntil = null, m.lastError = :error WHERE m.id = :id")
+    int markDead(@Param("id") String id, @Param("attempts") int attempts, @Param("error") String error);
+
+    /**
+     * Remover mensagens enviadas antigas
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status = 'SENT' AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * Contar mensagens por status
+     */
+    long countByStatus(EmailOutboxMessage.Status status);
+}
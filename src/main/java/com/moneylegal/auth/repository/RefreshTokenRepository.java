@@ -1,6 +1,10 @@
 package com.moneylegal.auth.repository;
 
 import com.moneylegal.auth.entity.RefreshToken;
+import com.moneylegal.auth.entity.User;
+import com.moneylegal.tenant.entity.Tenant;
+import com.moneylegal.tenant.entity.TenantMember;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -20,13 +24,41 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Stri
     /**
      * Buscar refresh token válido
      */
-    @Query("SELECT rt FROM RefreshToken rt WHERE rt.token = :token AND rt.revoked = false AND rt.expiresAt > :now")
-    Optional<RefreshToken> findValidToken(@Param("token") String token, @Param("now") LocalDateTime now);
+    @Query("SELECT rt FROM RefreshToken rt WHERE rt.tokenHash = :tokenHash AND rt.revoked = false AND rt.expiresAt > :now")
+    Optional<RefreshToken> findValidToken(@Param("tokenHash") byte[] tokenHash, @Param("now") LocalDateTime now);
 
     /**
-     * Buscar por token
+     * Rotação atômica: marca o token como revogado/rotacionado somente se ainda válido.
+     * Retorna 1 para quem venceu a corrida; 0 para token inválido, expirado ou já rotacionado.
      */
-    Optional<RefreshToken> findByToken(String token);
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :now, rt.rotatedAt = :now " +
+           "WHERE rt.tokenHash = :tokenHash AND rt.revoked = false AND rt.expiresAt > :now")
+    int claimForRotation(@Param("tokenHash") byte[] tokenHash, @Param("now") LocalDateTime now);
+
+    /**
+     * Dados do refresh numa única consulta: família, usuário, membership ativo e tenant
+     */
+    @Query("SELECT rt.familyId AS familyId, u AS user, tm AS membership, t AS tenant " +
+           "FROM RefreshToken rt " +
+           "JOIN User u ON u.id = rt.userId " +
+           "JOIN TenantMember tm ON tm.userId = u.id AND tm.isActive = true " +
+           "JOIN Tenant t ON t.id = tm.tenantId " +
+           "WHERE rt.tokenHash = :tokenHash " +
+           "ORDER BY tm.joinedAt")
+    List<RotationView> findRotationContext(@Param("tokenHash") byte[] tokenHash, Pageable pageable);
+
+    /**
+     * Revogar a família inteira (reuso de token rotacionado)
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :now WHERE rt.familyId = :familyId AND rt.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    /**
+     * Buscar por hash do token (RefreshToken.hash)
+     */
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
 
     /**
      * Buscar todos os tokens do usuário
@@ -47,9 +79,34 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Stri
     int revokeAllUserTokens(@Param("userId") String userId, @Param("now") LocalDateTime now);
 
     /**
-     * Deletar tokens expirados
+     * Limite de sessões: revoga os tokens ativos mais antigos além dos :keep mais recentes (um único UPDATE)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE refresh_tokens rt " +
+            "JOIN (SELECT id FROM refresh_tokens " +
+            "      WHERE user_id = UUID_TO_BIN(:userId) AND revoked = false AND expires_at > :now " +
+            "      ORDER BY created_at DESC, id DESC " +
+            "      LIMIT 18446744073709551615 OFFSET :keep) oldest ON oldest.id = rt.id " +
+            "SET rt.revoked = true, rt.revoked_at = :now", nativeQuery = true)
+    int revokeOldestBeyond(@Param("userId") String userId, @Param("keep") int keep, @Param("now") LocalDateTime now);
+
+    /**
+     * Lote de ids de tokens expirados (RefreshTokenPurgeJob)
+     */
+    @Query(value = "SELECT BIN_TO_UUID(id) FROM refresh_tokens WHERE expires_at < :now ORDER BY expires_at LIMIT :limit", nativeQuery = true)
+    List<String> findExpiredIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Deletar por chave primária (lote limitado)
      */
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :now")
-    int deleteExpiredTokens(@Param("now") LocalDateTime now);
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id IN :ids")
+    int deleteByIds(@Param("ids") List<String> ids);
+
+    interface RotationView {
+        String getFamilyId();
+        User getUser();
+        TenantMember getMembership();
+        Tenant getTenant();
+    }
 }
@@ -1,14 +1,22 @@
 package com.moneylegal.auth.repository;
 
 import com.moneylegal.auth.entity.User;
+import com.moneylegal.tenant.entity.Tenant;
+import com.moneylegal.tenant.entity.TenantMember;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository para User
@@ -28,9 +36,9 @@ public interface UserRepository extends JpaRepository<User, String> {
     Optional<User> findByEmail(String email);
 
     /**
-     * Buscar usuário por email (case insensitive)
+     * Buscar usuário por email (case insensitive, via índice uk_users_email_normalized)
      */
-    @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email)")
+    @Query("SELECT u FROM User u WHERE u.emailNormalized = LOWER(TRIM(:email))")
     Optional<User> findByEmailIgnoreCase(@Param("email") String email);
 
     /**
@@ -44,9 +52,9 @@ public interface UserRepository extends JpaRepository<User, String> {
     boolean existsByEmail(String email);
 
     /**
-     * Verificar se email existe (case insensitive)
+     * Verificar se email existe (case insensitive, via índice uk_users_email_normalized)
      */
-    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE LOWER(u.email) = LOWER(:email)")
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE u.emailNormalized = LOWER(TRIM(:email))")
     boolean existsByEmailIgnoreCase(@Param("email") String email);
 
     /**
@@ -110,5 +118,67 @@ public interface UserRepository extends JpaRepository<User, String> {
     /**
      * Verifica se existe usuário com o email E com senha definida (cadastro completo)
      */
-    boolean existsByEmailIgnoreCaseAndPasswordHashIsNotNull(String email);
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u " +
+           "WHERE u.emailNormalized = LOWER(TRIM(:email)) AND u.passwordHash IS NOT NULL")
+    boolean existsByEmailIgnoreCaseAndPasswordHashIsNotNull(@Param("email") String email);
+
+    /**
+     * Incrementa a época de tokens do usuário (invalida todos os access tokens emitidos)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.tokenEpoch = u.tokenEpoch + 1, u.tokenEpochUpdatedAt = :now WHERE u.id = :userId")
+    int incrementTokenEpoch(@Param("userId") String userId, @Param("now") LocalDateTime now);
+
+    /**
+     * Troca o hash da senha sem carregar a entidade (rehash no login)
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash, u.updatedAt = :now WHERE u.id = :userId")
+    int updatePasswordHash(@Param("userId") String userId, @Param("passwordHash") String passwordHash, @Param("now") LocalDateTime now);
+
+    /**
+     * Época atual de tokens do usuário
+     */
+    @Query("SELECT u.tokenEpoch FROM User u WHERE u.id = :userId")
+    Optional<Integer> findTokenEpochById(@Param("userId") String userId);
+
+    /**
+     * Épocas alteradas desde uma data (alimenta o TokenEpochRegistry)
+     */
+    @Query("SELECT u.id AS id, u.tokenEpoch AS tokenEpoch FROM User u WHERE u.tokenEpochUpdatedAt > :since")
+    List<TokenEpochView> findTokenEpochsChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Todos os emails normalizados em streaming (alimenta o RegisteredEmailFilter; exige transação)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT u.emailNormalized FROM User u")
+    Stream<String> streamAllNormalizedEmails();
+
+    /**
+     * Emails normalizados de usuários criados desde uma data (cadastros de outras instâncias)
+     */
+    @Query("SELECT u.emailNormalized FROM User u WHERE u.createdAt >= :since")
+    List<String> findNormalizedEmailsCreatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Login numa única consulta: usuário + membership ativo padrão + tenant (LEFT JOIN: usuário sem tenant também volta)
+     */
+    @Query("SELECT u AS user, tm AS membership, t AS tenant FROM User u " +
+           "LEFT JOIN TenantMember tm ON tm.userId = u.id AND tm.isActive = true " +
+           "LEFT JOIN Tenant t ON t.id = tm.tenantId " +
+           "WHERE u.emailNormalized = LOWER(TRIM(:email)) " +
+           "ORDER BY tm.joinedAt")
+    List<LoginView> findLoginContext(@Param("email") String email, Pageable pageable);
+
+    interface LoginView {
+        User getUser();
+        TenantMember getMembership();
+        Tenant getTenant();
+    }
+
+    interface TokenEpochView {
+        String getId();
+        Integer getTokenEpoch();
+    }
 }
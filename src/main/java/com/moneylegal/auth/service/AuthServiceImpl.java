@@ -6,18 +6,29 @@ import com.moneylegal.auth.entity.RefreshToken;
 import com.moneylegal.auth.entity.User;
 import com.moneylegal.auth.repository.RefreshTokenRepository;
 import com.moneylegal.auth.repository.UserRepository;
+import com.moneylegal.config.MetricsConfig;
 import com.moneylegal.exception.BadRequestException;
 import com.moneylegal.exception.UnauthorizedException;
+import com.moneylegal.security.AuthenticatedUser;
 import com.moneylegal.security.JwtTokenProvider;
+import com.moneylegal.security.PasswordHashingExecutor;
+import com.moneylegal.security.TokenEpochRegistry;
+import com.moneylegal.slug.SlugAllocator;
+import com.moneylegal.slug.SlugReservation;
 import com.moneylegal.tenant.entity.Tenant;
 import com.moneylegal.tenant.entity.TenantMember;
 import com.moneylegal.tenant.repository.TenantMemberRepository;
 import com.moneylegal.tenant.repository.TenantRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
@@ -26,6 +37,7 @@ import java.time.LocalDateTime;
  * Implementação do AuthService
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 public class AuthServiceImpl implements AuthService {
@@ -34,11 +46,20 @@ public class AuthServiceImpl implements AuthService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final TenantRepository tenantRepository;
     private final TenantMemberRepository tenantMemberRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
     private final JwtTokenProvider jwtTokenProvider;
     private final EmailService emailService;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final SlugAllocator slugAllocator;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final LastLoginBuffer lastLoginBuffer;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${auth.sessions.max-active-per-user:10}")
+    private int maxActiveSessionsPerUser;
 
     private static final int REFRESH_TOKEN_EXPIRATION_DAYS = 7;
+    private static final int REFRESH_TOKEN_REUSE_GRACE_SECONDS = 5; // refresh duplicado legítimo (app retomando)
     private static final int ACCESS_TOKEN_EXPIRATION_MINUTES = 15;
     private static final int OTP_EXPIRATION_MINUTES = 15;
     private static final int OTP_LENGTH = 6;
@@ -63,7 +84,7 @@ public class AuthServiceImpl implements AuthService {
                 .name(request.getName())
                 .email(request.getEmail().toLowerCase())
                 .phone(request.getPhone())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHashingExecutor.encode(request.getPassword()))
                 .emailVerified(false)
                 .phoneVerified(false)
                 .isActive(true)
@@ -99,17 +120,24 @@ public class AuthServiceImpl implements AuthService {
     }
     */
 
+    /**
+     * Sem transação no método: a consulta devolve a conexão ao pool antes do BCrypt, e só as
+     * escritas (hash refeito + refresh token) rodam numa transação curta no final.
+     */
     @Override
-    @Transactional
     public AuthResponse login(LoginRequest request) {
         log.info("Login attempt: {}", request.getEmail());
 
-        // Buscar usuário
-        User user = userRepository.findByEmailIgnoreCase(request.getEmail())
+        // ✅ Usuário, membership padrão (primeiro ativo) e tenant numa única consulta
+        UserRepository.LoginView context = userRepository.findLoginContext(request.getEmail(), PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
                 .orElseThrow(() -> new UnauthorizedException("Por favor, verifique seus dados de acesso e tente novamente."));
 
+        User user = context.getUser();
+
         // Verificar senha
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordHashingExecutor.matches(request.getPassword(), user.getPasswordHash())) {
             throw new UnauthorizedException("Por favor, verifique seus dados de acesso e tente novamente.");
         }
 
@@ -118,25 +146,37 @@ public class AuthServiceImpl implements AuthService {
             throw new UnauthorizedException("Este usuário pode estar inativo ou bloqueado. Tente novamente mais tarde.");
         }
 
-        // Atualizar last login
-        user.updateLastLogin();
-        userRepository.save(user);
+        // ✅ Hash abaixo da política atual (custo menor / sem prefixo) -> refaz com a senha já validada
+        String upgradedHash = passwordHashingExecutor.needsRehash(user.getPasswordHash())
+                ? passwordHashingExecutor.encode(request.getPassword())
+                : null;
 
-        // Buscar tenant padrão (primeiro ativo)
-        TenantMember defaultMembership = tenantMemberRepository.findByUserIdAndIsActiveTrue(user.getId())
-                .stream()
-                .findFirst()
-                .orElseThrow(() -> new BadRequestException("Usuário sem tenant"));
+        // ✅ Último login em write-behind (sem UPDATE em users dentro do login)
+        lastLoginBuffer.record(user.getId(), LocalDateTime.now());
 
-        Tenant defaultTenant = tenantRepository.findById(defaultMembership.getTenantId())
-                .orElseThrow(() -> new BadRequestException("Tenant não encontrado"));
+        // Tenant padrão (primeiro ativo)
+        TenantMember defaultMembership = context.getMembership();
+        if (defaultMembership == null) {
+            throw new BadRequestException("Usuário sem tenant");
+        }
+
+        Tenant defaultTenant = context.getTenant();
+        if (defaultTenant == null) {
+            throw new BadRequestException("Tenant não encontrado");
+        }
 
         // Gerar tokens
-        String accessToken = jwtTokenProvider.generateAccessToken(user.getId());
+        String accessToken = jwtTokenProvider.generateAccessToken(AuthenticatedUser.of(user, defaultMembership));
         String refreshToken = jwtTokenProvider.generateRefreshToken();
 
-        // Salvar refresh token
-        saveRefreshToken(user.getId(), refreshToken);
+        // Salvar refresh token (+ hash refeito) numa transação curta
+        transactionTemplate.executeWithoutResult(status -> {
+            if (upgradedHash != null) {
+                userRepository.updatePasswordHash(user.getId(), upgradedHash, LocalDateTime.now());
+                log.info("Password hash upgraded for user: {}", user.getId());
+            }
+            saveRefreshToken(user.getId(), refreshToken);
+        });
 
         log.info("Login successful: {}", user.getId());
 
@@ -169,48 +209,58 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    @Transactional
+    @Transactional(noRollbackFor = UnauthorizedException.class) // revogação da família precisa persistir
     public AuthResponse refreshToken(RefreshTokenRequest request) {
         log.info("Refresh token request");
 
-        // Validar refresh token
-        RefreshToken refreshToken = refreshTokenRepository.findValidToken(
-                request.getRefreshToken(),
-                LocalDateTime.now()
-        ).orElseThrow(() -> new UnauthorizedException("Refresh token inválido ou expirado"));
+        byte[] tokenHash = RefreshToken.hash(request.getRefreshToken());
+        LocalDateTime now = LocalDateTime.now();
 
-        // Buscar usuário
-        User user = userRepository.findById(refreshToken.getUserId())
-                .orElseThrow(() -> new UnauthorizedException("Usuário não encontrado"));
+        // ✅ Rotação atômica: UPDATE ... WHERE revoked = false - só uma requisição concorrente vence
+        if (refreshTokenRepository.claimForRotation(tokenHash, now) == 0) {
+            detectReuse(tokenHash, now);
+            throw new UnauthorizedException("Refresh token inválido ou expirado");
+        }
+
+        // ✅ Família, usuário, membership e tenant numa única consulta
+        RefreshTokenRepository.RotationView context = refreshTokenRepository
+                .findRotationContext(tokenHash, PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Usuário sem tenant"));
+
+        User user = context.getUser();
+        TenantMember defaultMembership = context.getMembership();
 
         // Verificar se usuário está ativo
         if (!user.getIsActive()) {
             throw new UnauthorizedException("Usuário inativo");
         }
 
-        // Revogar token antigo
-        refreshToken.revoke();
-        refreshTokenRepository.save(refreshToken);
-
         // Gerar novos tokens
-        String newAccessToken = jwtTokenProvider.generateAccessToken(user.getId());
+        String newAccessToken = jwtTokenProvider.generateAccessToken(AuthenticatedUser.of(user, defaultMembership));
         String newRefreshToken = jwtTokenProvider.generateRefreshToken();
 
-        // Salvar novo refresh token
-        saveRefreshToken(user.getId(), newRefreshToken);
-
-        // Buscar tenant padrão
-        TenantMember defaultMembership = tenantMemberRepository.findByUserIdAndIsActiveTrue(user.getId())
-                .stream()
-                .findFirst()
-                .orElseThrow(() -> new BadRequestException("Usuário sem tenant"));
-
-        Tenant defaultTenant = tenantRepository.findById(defaultMembership.getTenantId())
-                .orElseThrow(() -> new BadRequestException("Tenant não encontrado"));
+        // Salvar novo refresh token na mesma família
+        saveRefreshToken(user.getId(), context.getFamilyId(), newRefreshToken);
 
         log.info("Refresh token successful: {}", user.getId());
 
-        return buildAuthResponse(user, newAccessToken, newRefreshToken, defaultTenant, defaultMembership.getRole());
+        return buildAuthResponse(user, newAccessToken, newRefreshToken, context.getTenant(), defaultMembership.getRole());
+    }
+
+    /**
+     * Token já rotacionado reapresentado fora da janela de corrida = provável roubo: revoga a família
+     */
+    private void detectReuse(byte[] tokenHash, LocalDateTime now) {
+        refreshTokenRepository.findByTokenHash(tokenHash)
+                .filter(RefreshToken::isRotated)
+                .filter(rt -> rt.getRotatedAt().isBefore(now.minusSeconds(REFRESH_TOKEN_REUSE_GRACE_SECONDS)))
+                .ifPresent(rt -> {
+                    int revoked = refreshTokenRepository.revokeFamily(rt.getFamilyId(), now);
+                    log.warn("Refresh token reuse detected for user {} - family {} revoked ({} token(s))",
+                            rt.getUserId(), rt.getFamilyId(), revoked);
+                });
     }
 
     @Override
@@ -218,7 +268,7 @@ public class AuthServiceImpl implements AuthService {
     public void logout(String refreshToken) {
         log.info("Logout request");
 
-        refreshTokenRepository.findByToken(refreshToken)
+        refreshTokenRepository.findByTokenHash(RefreshToken.hash(refreshToken))
                 .ifPresent(token -> {
                     token.revoke();
                     refreshTokenRepository.save(token);
@@ -230,7 +280,13 @@ public class AuthServiceImpl implements AuthService {
     public void logoutAll(String userId) {
         log.info("Logout all devices: {}", userId);
 
-        refreshTokenRepository.revokeAllUserTokens(userId, LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.revokeAllUserTokens(userId, now);
+
+        // Invalida também os access tokens já emitidos (revogação por época)
+        userRepository.incrementTokenEpoch(userId, now);
+        userRepository.findTokenEpochById(userId)
+                .ifPresent(epoch -> afterCommit(() -> tokenEpochRegistry.record(userId, epoch)));
     }
 
     @Override
@@ -350,10 +406,15 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    @Transactional
     public ResetPasswordResponse resetPassword(ResetPasswordRequest request) {
         log.info("Reset password request: {}", request.getEmail());
 
+        // ✅ BCrypt antes de qualquer consulta e fora da transação (não segura conexão do pool)
+        String newPasswordHash = passwordHashingExecutor.encode(request.getNewPassword());
+        return transactionTemplate.execute(status -> applyPasswordReset(request, newPasswordHash));
+    }
+
+    private ResetPasswordResponse applyPasswordReset(ResetPasswordRequest request, String newPasswordHash) {
         // Buscar usuário por email
         User user = userRepository.findByEmailIgnoreCase(request.getEmail())
                 .orElseThrow(() -> new BadRequestException("Usuário não encontrado"));
@@ -374,7 +435,7 @@ public class AuthServiceImpl implements AuthService {
         }
 
         // Atualizar senha
-        user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
+        user.setPasswordHash(newPasswordHash);
 
         // Limpar código OTP após uso
         user.setResetPasswordCode(null);
@@ -432,13 +493,41 @@ public class AuthServiceImpl implements AuthService {
         return String.valueOf(otp);
     }
 
+    /**
+     * Executa a ação somente após o commit da transação atual (ou imediatamente, sem transação)
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private void saveRefreshToken(String userId, String token) {
         RefreshToken refreshToken = RefreshToken.create(userId, token, REFRESH_TOKEN_EXPIRATION_DAYS);
         refreshTokenRepository.save(refreshToken);
+
+        // ✅ Nova sessão: revoga as mais antigas além do limite por usuário (mesma transação)
+        int evicted = refreshTokenRepository.revokeOldestBeyond(userId, maxActiveSessionsPerUser, LocalDateTime.now());
+        if (evicted > 0) {
+            log.info("Session cap reached for user {}: {} oldest refresh token(s) revoked", userId, evicted);
+        }
+    }
+
+    private void saveRefreshToken(String userId, String familyId, String token) {
+        RefreshToken refreshToken = RefreshToken.create(userId, familyId, token, REFRESH_TOKEN_EXPIRATION_DAYS);
+        refreshTokenRepository.save(refreshToken);
     }
 
     private Tenant createPersonalTenant(User user) {
-        String slug = generateTenantSlug(user.getName());
+        String slug = slugAllocator.allocate(SlugReservation.Scope.TENANT, user.getName());
 
         Tenant tenant = Tenant.builder()
                 .name("Pessoal - " + user.getName())
@@ -454,23 +543,6 @@ public class AuthServiceImpl implements AuthService {
         return tenantRepository.save(tenant);
     }
 
-    private String generateTenantSlug(String name) {
-        String baseSlug = name.toLowerCase()
-                .replaceAll("[^a-z0-9\\s-]", "")
-                .replaceAll("\\s+", "-")
-                .replaceAll("-+", "-")
-                .trim();
-
-        String slug = baseSlug;
-        int counter = 1;
-
-        while (tenantRepository.existsBySlug(slug)) {
-            slug = baseSlug + "-" + counter++;
-        }
-
-        return slug;
-    }
-
     private AuthResponse buildAuthResponse(
             User user,
             String accessToken,
@@ -586,6 +658,7 @@ public class AuthServiceImpl implements AuthService {
                     .build();
 
             user = userRepository.save(user);
+            registeredEmailFilter.add(user.getEmail());
         }
 
         // Gerar e salvar código OTP (novo ou atualizar existente)
@@ -596,8 +669,8 @@ public class AuthServiceImpl implements AuthService {
         user.setResetPasswordCodeExpiresAt(expiresAt);
         userRepository.save(user);
 
-        // Enviar email com OTP
-        //emailService.sendEmailVerificationOtp(user.getEmail(), otpCode, user.getName());
+        // Enviar email com OTP (via outbox, despachado em background)
+        emailService.sendEmailVerificationOtp(user.getEmail(), otpCode, user.getName());
 
         log.info("OTP sent to: {}", user.getId());
 
@@ -610,10 +683,15 @@ public class AuthServiceImpl implements AuthService {
      * PASSO 3: UPDATE ou INSERT - Completar cadastro
      */
     @Override
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
         log.info("Registrando novo usuário: {}", request.getEmail());
 
+        // ✅ BCrypt antes de qualquer consulta e fora da transação (não segura conexão do pool)
+        String passwordHash = passwordHashingExecutor.encode(request.getPassword());
+        return transactionTemplate.execute(status -> completeRegistration(request, passwordHash));
+    }
+
+    private AuthResponse completeRegistration(RegisterRequest request, String passwordHash) {
         // Buscar se usuário já existe
         User user = userRepository.findByEmailIgnoreCase(request.getEmail()).orElse(null);
 
@@ -639,7 +717,7 @@ public class AuthServiceImpl implements AuthService {
             }
 
             // UPDATE: Completar cadastro
-            user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+            user.setPasswordHash(passwordHash);
             user.setPhone(request.getPhone());
             user.setIsActive(true);
 
@@ -654,10 +732,7 @@ public class AuthServiceImpl implements AuthService {
             // ❌ USUÁRIO NÃO EXISTE → INSERT (fluxo antigo sem OTP)
             log.info("Usuário não encontrado, criando novo (INSERT - fluxo antigo)");
 
-            // Validar se email já existe (checagem dupla por segurança)
-            if (userRepository.existsByEmailIgnoreCase(request.getEmail())) {
-                throw new BadRequestException("Email já cadastrado");
-            }
+            // (email já verificado pelo findByEmailIgnoreCase acima; o índice único cobre a corrida)
 
             // Validar telefone se fornecido
             if (request.getPhone() != null && userRepository.existsByPhone(request.getPhone())) {
@@ -669,13 +744,14 @@ public class AuthServiceImpl implements AuthService {
                     .name(request.getName())
                     .email(request.getEmail().toLowerCase())
                     .phone(request.getPhone())
-                    .passwordHash(passwordEncoder.encode(request.getPassword()))
+                    .passwordHash(passwordHash)
                     .emailVerified(false)
                     .phoneVerified(false)
                     .isActive(true)
                     .build();
 
             user = userRepository.save(user);
+            registeredEmailFilter.add(user.getEmail());
             log.info("Usuário criado com sucesso (INSERT): {}", user.getId());
 
             // TODO: Enviar email de verificação
@@ -695,20 +771,14 @@ public class AuthServiceImpl implements AuthService {
         tenantMemberRepository.save(membership);
 
         // Gerar tokens
-        String accessToken = jwtTokenProvider.generateAccessToken(user.getId());
+        String accessToken = jwtTokenProvider.generateAccessToken(AuthenticatedUser.of(user, membership));
         String refreshToken = jwtTokenProvider.generateRefreshToken();
 
         // Salvar refresh token
         saveRefreshToken(user.getId(), refreshToken);
 
-        // ENVIAR EMAIL DE BOAS-VINDAS (após tudo estar completo)
-        try {
-            emailService.sendWelcomeEmail(user.getEmail(), user.getName());
-            log.info("Welcome email sent to new user: {}", user.getEmail());
-        } catch (Exception e) {
-            // Log mas não falha o cadastro se email der erro
-            log.error("Failed to send welcome email to: {}", user.getEmail(), e);
-        }
+        // ENVIAR EMAIL DE BOAS-VINDAS (após tudo estar completo; outbox com prioridade baixa)
+        emailService.sendWelcomeEmail(user.getEmail(), user.getName());
 
         // Construir response
         return buildAuthResponse(user, accessToken, refreshToken, personalTenant, TenantMember.MemberRole.OWNER);
@@ -716,6 +786,10 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public boolean existsByEmailWithPassword(String email) {
+        // ✅ Negativo do filtro em memória = não cadastrado, sem ir ao banco
+        if (!registeredEmailFilter.mightContain(email)) {
+            return false;
+        }
         return userRepository.existsByEmailIgnoreCaseAndPasswordHashIsNotNull(email);
     }
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+package com.moneylegal.auth.service;
+
+import com.moneylegal.auth.entity.EmailOutboxMessage;
+import com.moneylegal.auth.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Despacha o outbox de emails em background.
+ *
+ * - Reivindica lotes por prioridade (OTP antes de boas-vindas) com SKIP LOCKED
+ * - Envia num executor próprio (nunca em thread do Tomcat / com conexão do pool presa)
+ * - Falhas são reagendadas conforme RETRY_DELAYS_SECONDS; esgotadas -> DEAD
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final long[] RETRY_DELAYS_SECONDS = {10, 30, 120, 600, 1800};
+    private static final int SENT_RETENTION_DAYS = 7;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long leaseSeconds;
+
+    // moneylegal.email.delivery{outcome=sent|retry|dead} + contador de tentativas por categoria
+    private final Timer sentTimer;
+    private final Timer retryTimer;
+    private final Timer deadTimer;
+    private final MeterRegistry meterRegistry;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxRepository emailOutboxRepository,
+            EmailService emailService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${email.outbox.threads:4}") int threads,
+            @Value("${email.outbox.batch-size:50}") int batchSize,
+            @Value("${email.outbox.max-attempts:6}") int maxAttempts,
+            @Value("${email.outbox.lease-seconds:120}") long leaseSeconds
+    ) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.leaseSeconds = leaseSeconds;
+        this.meterRegistry = meterRegistry;
+        this.sentTimer = deliveryTimer(meterRegistry, "sent");
+        this.retryTimer = deliveryTimer(meterRegistry, "retry");
+        this.deadTimer = deliveryTimer(meterRegistry, "dead");
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(batchSize * 2),
+                r -> {
+                    Thread t = new Thread(r, "email-outbox-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }
+        );
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        try {
+            int claimed;
+            do {
+                int capacity = Math.min(batchSize, executor.getQueue().remainingCapacity());
+                if (capacity <= 0) return;
+
+                List<EmailOutboxMessage> batch = claimBatch(capacity);
+                claimed = batch.size();
+
+                for (EmailOutboxMessage message : batch) {
+                    submit(message);
+                }
+            } while (claimed == batchSize);
+        } catch (Exception e) {
+            log.error("[OUTBOX] Falha ao despachar emails", e);
+        }
+    }
+
+    @Scheduled(cron = "${email.outbox.cleanup-cron:0 30 3 * * *}")
+    public void purgeSent() {
+        int removed = emailOutboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(SENT_RETENTION_DAYS));
+        log.info("[OUTBOX] {} email(s) enviados removidos do outbox", removed);
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            // mensagens em SENDING voltam a ser reivindicadas quando o lease expirar
+            executor.shutdownNow();
+        }
+    }
+
+    private List<EmailOutboxMessage> claimBatch(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> batch = new ArrayList<>(emailOutboxRepository.lockPendingBatch(now, limit));
+            if (batch.size() < limit) {
+                batch.addAll(emailOutboxRepository.lockExpiredLeases(now, limit - batch.size()));
+            }
+            batch.forEach(m -> m.markSending(now.plusSeconds(leaseSeconds)));
+            return emailOutboxRepository.saveAll(batch);
+        });
+    }
+
+    private void submit(EmailOutboxMessage message) {
+        try {
+            executor.execute(() -> send(message));
+        } catch (RejectedExecutionException e) {
+            // devolve para a fila sem contar tentativa
+            emailOutboxRepository.markForRetry(message.getId(), message.getAttempts(), LocalDateTime.now(), null);
+        }
+    }
+
+    private void send(EmailOutboxMessage message) {
+        int attempts = message.getAttempts() + 1;
+        Counter.builder("moneylegal.email.attempts")
+                .description("Tentativas de envio (a primeira e as retentativas)")
+                .tag("category", message.getCategory().name())
+                .tag("retry", String.valueOf(attempts > 1))
+                .register(meterRegistry)
+                .increment();
+
+        long start = System.nanoTime();
+        try {
+            emailService.deliver(message.getRecipient(), message.getSubject(), message.getHtmlBody());
+            sentTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            emailOutboxRepository.markSent(message.getId(), attempts, LocalDateTime.now());
+
+        } catch (Exception e) {
+            String error = truncate(e.getMessage());
+
+            if (attempts >= maxAttempts) {
+                deadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                log.error("[OUTBOX] Email {} ({}) para {} descartado após {} tentativas: {}",
+                        message.getId(), message.getCategory(), message.getRecipient(), attempts, error);
+                emailOutboxRepository.markDead(message.getId(), attempts, error);
+                return;
+            }
+
+            retryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            long delay = RETRY_DELAYS_SECONDS[Math.min(attempts - 1, RETRY_DELAYS_SECONDS.length - 1)];
+            log.warn("[OUTBOX] Tentativa {} de {} falhou para {} - nova tentativa em {}s: {}",
+                    attempts, maxAttempts, message.getRecipient(), delay, error);
+            emailOutboxRepository.markForRetry(
+                    message.getId(), attempts, LocalDateTime.now().plusSeconds(delay), error);
+        }
+    }
+
+    private static Timer deliveryTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("moneylegal.email.delivery")
+                .description("Chamada ao SendGrid por resultado")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) return null;
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
@@ -1,5 +1,7 @@
 package com.moneylegal.auth.service;
 
+import com.moneylegal.auth.entity.EmailOutboxMessage;
+import com.moneylegal.auth.repository.EmailOutboxRepository;
 import com.moneylegal.config.SendGridConfig;
 import com.sendgrid.Method;
 import com.sendgrid.Request;
@@ -14,7 +16,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.net.SocketException;
 
 @Service
 @RequiredArgsConstructor
@@ -23,137 +24,82 @@ public class EmailService {
 
     private final SendGrid sendGrid;
     private final SendGridConfig sendGridConfig;
+    private final EmailOutboxRepository emailOutboxRepository;
 
     @Value("${SERVER_DEV_FRONT}")
     private String serverDevFront;
 
-    private static final int MAX_RETRIES = 3;
-    private static final long INITIAL_BACKOFF_MS = 1000; // 1 segundo
-
     /**
-     * Método genérico para enviar emails usando Twilio SendGrid com retry
+     * Grava o email no outbox (mesma transação do chamador).
+     * O envio real acontece em background pelo EmailOutboxDispatcher.
      */
-    private void sendEmail(String to, String subject, String htmlContent) {
-        int attempts = 0;
-        long backoffMs = INITIAL_BACKOFF_MS;
-
-        while (attempts < MAX_RETRIES) {
-            try {
-                attempts++;
-                log.debug("Tentativa {} de {} para enviar email para: {}", attempts, MAX_RETRIES, to);
-
-                Email from = new Email(sendGridConfig.getFromEmail(), sendGridConfig.getFromName());
-                Email toEmail = new Email(to);
-                Content content = new Content("text/html", htmlContent);
-
-                Mail mail = new Mail(from, subject, toEmail, content);
-
-                Request request = new Request();
-                request.setMethod(Method.POST);
-                request.setEndpoint("mail/send");
-                request.setBody(mail.build());
-
-                Response response = sendGrid.api(request);
-
-                if (response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
-                    log.info("✅ Email enviado com sucesso para: {} - Status: {}", to, response.getStatusCode());
-                    return; // Sucesso! Sair do método
-
-                } else {
-                    log.error("❌ Falha ao enviar email para: {} - Status: {} - Body: {}",
-                            to, response.getStatusCode(), response.getBody());
-                    throw new RuntimeException("Falha ao enviar email - Status: " + response.getStatusCode());
-                }
-
-            } catch (SocketException e) {
-                log.warn("⚠️ Connection reset na tentativa {} de {} para: {}", attempts, MAX_RETRIES, to);
+    private void enqueue(String to, String subject, String htmlContent, EmailOutboxMessage.Category category) {
+        emailOutboxRepository.save(EmailOutboxMessage.create(to, subject, htmlContent, category));
+        log.debug("Email enfileirado no outbox: {} - categoria: {}", to, category);
+    }
 
-                if (attempts >= MAX_RETRIES) {
-                    log.error("❌ Todas as {} tentativas falharam com Connection Reset", MAX_RETRIES);
-                    throw new RuntimeException("Erro de conexão ao enviar email após " + MAX_RETRIES + " tentativas");
-                }
+    /**
+     * Uma única tentativa de envio via Twilio SendGrid.
+     * Retentativas/backoff ficam a cargo do EmailOutboxDispatcher (sem Thread.sleep aqui).
+     */
+    public void deliver(String to, String subject, String htmlContent) throws IOException {
+        Email from = new Email(sendGridConfig.getFromEmail(), sendGridConfig.getFromName());
+        Email toEmail = new Email(to);
+        Content content = new Content("text/html", htmlContent);
 
-                // Aguardar antes de tentar novamente (backoff exponencial)
-                try {
-                    log.info("⏳ Aguardando {}ms antes da próxima tentativa...", backoffMs);
-                    Thread.sleep(backoffMs);
-                    backoffMs *= 2; // Dobrar o tempo de espera
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Thread interrompida durante retry de email");
-                }
+        Mail mail = new Mail(from, subject, toEmail, content);
 
-            } catch (IOException e) {
-                log.error("❌ Erro de IO ao enviar email para: {}", to, e);
+        Request request = new Request();
+        request.setMethod(Method.POST);
+        request.setEndpoint("mail/send");
+        request.setBody(mail.build());
 
-                if (attempts >= MAX_RETRIES) {
-                    throw new RuntimeException("Erro ao enviar email: " + e.getMessage());
-                }
+        Response response = sendGrid.api(request);
 
-                // Aguardar antes de tentar novamente
-                try {
-                    Thread.sleep(backoffMs);
-                    backoffMs *= 2;
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Thread interrompida durante retry de email");
-                }
-            }
+        if (response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
+            log.info("✅ Email enviado com sucesso para: {} - Status: {}", to, response.getStatusCode());
+            return;
         }
 
-        // Se chegou aqui, todas as tentativas falharam
-        throw new RuntimeException("Falha ao enviar email após " + MAX_RETRIES + " tentativas");
+        log.error("❌ Falha ao enviar email para: {} - Status: {} - Body: {}",
+                to, response.getStatusCode(), response.getBody());
+        throw new IOException("Falha ao enviar email - Status: " + response.getStatusCode());
     }
 
     /**
      * Envia código OTP para recuperação de senha
      */
     public void sendPasswordResetCode(String to, String code, String userName) {
-        try {
-            String subject = "\uD83D\uDD10 Chegou seu código de acesso ao Money Legal!";
-            String htmlContent = buildPasswordResetEmailHtml(code, userName, to);
-            sendEmail(to, subject, htmlContent);
-            log.info("Password reset email sent to: {}", to);
-        } catch (Exception e) {
-            log.error("Error sending password reset email to: {}", to, e);
-            throw new RuntimeException("Erro ao enviar email de recuperação de senha");
-        }
+        String subject = "\uD83D\uDD10 Chegou seu código de acesso ao Money Legal!";
+        String htmlContent = buildPasswordResetEmailHtml(code, userName, to);
+        enqueue(to, subject, htmlContent, EmailOutboxMessage.Category.PASSWORD_RESET);
+        log.info("Password reset email queued for: {}", to);
     }
 
     /**
      * Envia código OTP para VERIFICAÇÃO DE EMAIL no cadastro
      */
     public void sendEmailVerificationOtp(String to, String code, String userName) {
-        try {
-            String subject = "\uD83D\uDD10 Chegou seu código de acesso ao Money Legal!";
-            String htmlContent = buildPasswordResetEmailHtml(code, userName, to);
-            sendEmail(to, subject, htmlContent);
-            log.info("Password reset email sent to: {}", to);
-        } catch (Exception e) {
-            log.error("Error sending password reset email to: {}", to, e);
-            throw new RuntimeException("Erro ao enviar email de recuperação de senha");
-        }
+        String subject = "\uD83D\uDD10 Chegou seu código de acesso ao Money Legal!";
+        String htmlContent = buildPasswordResetEmailHtml(code, userName, to);
+        enqueue(to, subject, htmlContent, EmailOutboxMessage.Category.EMAIL_VERIFICATION_OTP);
+        log.info("Email verification OTP queued for: {}", to);
     }
 
     /**
      * Envia email de verificação de conta
      */
     public void sendVerificationEmail(String to, String verificationToken, String userName) {
-        try {
-            String subject = "Money Legal - Verifique seu Email";
-            String htmlContent = buildVerificationEmailHtml(verificationToken, userName);
-            sendEmail(to, subject, htmlContent);
-            log.info("Verification email sent to: {}", to);
-        } catch (Exception e) {
-            log.error("Error sending verification email to: {}", to, e);
-            throw new RuntimeException("Erro ao enviar email de verificação");
-        }
+        String subject = "Money Legal - Verifique seu Email";
+        String htmlContent = buildVerificationEmailHtml(verificationToken, userName);
+        enqueue(to, subject, htmlContent, EmailOutboxMessage.Category.VERIFICATION);
+        log.info("Verification email queued for: {}", to);
     }
 
     /**
      * Template HTML para email de recuperação de senha
      */
-    private String buildPasswordResetEmailHtml(String code, String userName, String to) {
+    String buildPasswordResetEmailHtml(String code, String userName, String to) {
         String template = """
                     <!DOCTYPE html>
                     <html>
@@ -354,7 +300,7 @@ public class EmailService {
     /**
      * Template HTML para email de verificação de conta
      */
-    private String buildVerificationEmailHtml(String token, String userName) {
+    String buildVerificationEmailHtml(String token, String userName) {
         String verificationUrl = "http://" + serverDevFront + "/verify-email?token=" + token;
 
         String template = """
@@ -492,22 +438,16 @@ public class EmailService {
      * Envia email de BOAS-VINDAS após completar o cadastro
      */
     public void sendWelcomeEmail(String to, String userName) {
-        try {
-            String subject = "🎉 Bem-vindo ao Money Legal!";
-            String htmlContent = buildWelcomeEmailHtml(userName, to);
-            sendEmail(to, subject, htmlContent);
-            log.info("Welcome email sent to: {}", to);
-        } catch (Exception e) {
-            log.error("Error sending welcome email to: {}", to, e);
-            // Não lançar exceção - falha no email de boas-vindas não deve bloquear cadastro
-            log.warn("Cadastro completado mas email de boas-vindas falhou para: {}", to);
-        }
+        String subject = "🎉 Bem-vindo ao Money Legal!";
+        String htmlContent = buildWelcomeEmailHtml(userName, to);
+        enqueue(to, subject, htmlContent, EmailOutboxMessage.Category.WELCOME);
+        log.info("Welcome email queued for: {}", to);
     }
 
     /**
      * Template HTML para email de BOAS-VINDAS
      */
-    private String buildWelcomeEmailHtml(String userName, String userEmail) {
+    String buildWelcomeEmailHtml(String userName, String userEmail) {
         String template = """
                         <!DOCTYPE html>
                                                       <html>
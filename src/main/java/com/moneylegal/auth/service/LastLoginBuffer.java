@@ -0,0 +1,82 @@
+package com.moneylegal.auth.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind do último login.
+ *
+ * O login só registra o horário em memória (mantendo o mais recente por usuário);
+ * a cada flush-interval-ms tudo vai ao banco num único UPDATE em lote.
+ * users.last_login pode ficar alguns segundos atrasado (ok para findRecentlyActive).
+ */
+@Component
+@Slf4j
+public class LastLoginBuffer {
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login = ? WHERE id = UUID_TO_BIN(?) AND (last_login IS NULL OR last_login < ?)";
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public LastLoginBuffer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void record(String userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        List<Map.Entry<String, LocalDateTime>> batch = new ArrayList<>(pending.entrySet().size());
+        pending.forEach((userId, loginAt) -> batch.add(Map.entry(userId, loginAt)));
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, entry) -> {
+                Timestamp loginAt = Timestamp.valueOf(entry.getValue());
+                ps.setTimestamp(1, loginAt, utcCalendar());
+                ps.setString(2, entry.getKey());
+                ps.setTimestamp(3, loginAt, utcCalendar());
+            });
+
+            // só remove se não chegou um login mais novo durante o flush
+            batch.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+            log.debug("[LAST-LOGIN] {} último(s) login(s) gravado(s)", batch.size());
+        } catch (Exception e) {
+            // mantém pendente para o próximo flush
+            log.warn("[LAST-LOGIN] Falha ao gravar últimos logins ({} pendentes): {}", pending.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // mesma conversão do Hibernate com hibernate.jdbc.time_zone=UTC
+    private static Calendar utcCalendar() {
+        return Calendar.getInstance(UTC);
+    }
+}
@@ -0,0 +1,118 @@
+package com.moneylegal.auth.service;
+
+import com.moneylegal.auth.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Expurgo de refresh tokens expirados.
+ *
+ * - Lotes limitados por chave primária, cada um na sua transação curta (locks e binlog pequenos)
+ * - Pausa entre lotes para não competir com login/refresh
+ * - Revogados/rotacionados ficam até o próprio expires_at: a detecção de reuso precisa encontrar
+ *   o token antigo durante toda a vida da família
+ */
+@Component
+@Slf4j
+public class RefreshTokenPurgeJob {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+    private final long pauseMs;
+    private final int maxChunks;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // métricas
+    private final LongAdder totalDeleted = new LongAdder();
+    private volatile long lastRunDeleted;
+    private volatile long lastRunDurationMs;
+
+    public RefreshTokenPurgeJob(
+            RefreshTokenRepository refreshTokenRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${auth.refresh-token-purge.chunk-size:1000}") int chunkSize,
+            @Value("${auth.refresh-token-purge.pause-ms:200}") long pauseMs,
+            @Value("${auth.refresh-token-purge.max-chunks:500}") int maxChunks
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.maxChunks = maxChunks;
+    }
+
+    @Scheduled(cron = "${auth.refresh-token-purge.cron:0 */15 * * * *}")
+    public void purge() {
+        if (!running.compareAndSet(false, true)) return;
+
+        long start = System.currentTimeMillis();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+
+            int[] budget = {maxChunks};
+            long expired = purgeInChunks(limit -> refreshTokenRepository.findExpiredIds(now, limit), budget);
+
+            lastRunDeleted = expired;
+            lastRunDurationMs = System.currentTimeMillis() - start;
+
+            if (lastRunDeleted > 0 || budget[0] == 0) {
+                log.info("[PURGE] Refresh tokens expirados removidos: {} em {}ms{}",
+                        expired, lastRunDurationMs, budget[0] == 0 ? " (limite de lotes atingido)" : "");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("[PURGE] Falha ao expurgar refresh tokens", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public long lastRunDeleted() {
+        return lastRunDeleted;
+    }
+
+    public long lastRunDurationMs() {
+        return lastRunDurationMs;
+    }
+
+    public long totalDeleted() {
+        return totalDeleted.sum();
+    }
+
+    private long purgeInChunks(Function<Integer, List<String>> nextChunk, int[] budget) throws InterruptedException {
+        long deleted = 0;
+
+        while (budget[0] > 0) {
+            Integer removed = transactionTemplate.execute(status -> {
+                List<String> ids = nextChunk.apply(chunkSize);
+                return ids.isEmpty() ? 0 : refreshTokenRepository.deleteByIds(ids);
+            });
+
+            int count = removed != null ? removed : 0;
+            if (count == 0) break;
+
+            budget[0]--;
+            deleted += count;
+            totalDeleted.add(count);
+
+            if (count < chunkSize) break;
+            Thread.sleep(pauseMs);
+        }
+
+        return deleted;
+    }
+}
@@ -0,0 +1,249 @@
+package com.moneylegal.auth.service;
+
+import com.moneylegal.auth.entity.User;
+import com.moneylegal.auth.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Filtro de Bloom em memória com os emails (normalizados) de todos os usuários.
+ *
+ * Usado pelo check-email: "não está no filtro" = com certeza não cadastrado (sem consulta ao banco);
+ * "talvez esteja" = confirma no MySQL.
+ *
+ * - Construído na subida lendo a tabela users em streaming (enquanto não fica pronto, tudo vai ao banco)
+ * - Atualizado localmente no pre-register/register e, a cada refresh-interval-ms, com os usuários
+ *   criados recentemente (cadastros feitos em outras instâncias)
+ * - Reconstruído diariamente (redimensiona conforme o crescimento da base)
+ */
+@Component
+@Slf4j
+public class RegisteredEmailFilter {
+
+    private static final double LN2 = Math.log(2);
+    private static final long SYNC_MARGIN_SECONDS = 60;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile Bloom bloom;
+    private volatile LocalDateTime lastSync;
+
+    // métricas
+    private final LongAdder definiteNegatives = new LongAdder();
+    private final LongAdder possiblePositives = new LongAdder();
+
+    public RegisteredEmailFilter(
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${auth.email-filter.enabled:true}") boolean enabled,
+            @Value("${auth.email-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${auth.email-filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * false = email certamente não cadastrado; true = talvez (confirmar no banco)
+     */
+    public boolean mightContain(String email) {
+        Bloom current = bloom;
+        if (current == null) {
+            return true;
+        }
+
+        boolean result = current.mightContain(User.normalizeEmail(email));
+        (result ? possiblePositives : definiteNegatives).increment();
+        return result;
+    }
+
+    /**
+     * Registrar email recém-cadastrado nesta instância (rollback só gera um falso positivo)
+     */
+    public void add(String email) {
+        Bloom current = bloom;
+        if (current != null) {
+            current.put(User.normalizeEmail(email));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            log.info("[EMAIL-FILTER] Desabilitado: check-email consulta sempre o banco");
+            return;
+        }
+
+        Thread builder = new Thread(this::rebuild, "email-filter-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    @Scheduled(cron = "${auth.email-filter.rebuild-cron:0 15 4 * * *}")
+    public void rebuild() {
+        if (!enabled) return;
+
+        try {
+            long start = System.currentTimeMillis();
+            LocalDateTime syncPoint = LocalDateTime.now().minusSeconds(SYNC_MARGIN_SECONDS);
+
+            long users = userRepository.count();
+            Bloom next = Bloom.create(Math.max(expectedInsertions, users * 2), falsePositiveRate);
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> emails = userRepository.streamAllNormalizedEmails()) {
+                    emails.forEach(next::put);
+                }
+            });
+
+            bloom = next;
+            lastSync = syncPoint;
+
+            log.info("[EMAIL-FILTER] Construído em {}ms: usuários={}, memória={}KB, hashes={}, fpp estimada={}",
+                    System.currentTimeMillis() - start, users, memoryBytes() / 1024, next.hashFunctions,
+                    String.format("%.5f", estimatedFalsePositiveRate()));
+        } catch (Exception e) {
+            log.error("[EMAIL-FILTER] Falha ao construir filtro (check-email segue consultando o banco)", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.email-filter.refresh-interval-ms:5000}")
+    public void syncRecent() {
+        Bloom current = bloom;
+        LocalDateTime since = lastSync;
+        if (current == null || since == null) return;
+
+        try {
+            LocalDateTime syncPoint = LocalDateTime.now().minusSeconds(SYNC_MARGIN_SECONDS);
+            userRepository.findNormalizedEmailsCreatedSince(since).forEach(current::put);
+            lastSync = syncPoint;
+        } catch (Exception e) {
+            log.warn("[EMAIL-FILTER] Falha ao sincronizar cadastros recentes: {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return bloom != null;
+    }
+
+    public long memoryBytes() {
+        Bloom current = bloom;
+        return current == null ? 0 : current.words.length() * 8L;
+    }
+
+    public double configuredFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    /**
+     * Taxa de falso positivo estimada pela fração de bits ligados: (bits/m)^k
+     */
+    public double estimatedFalsePositiveRate() {
+        Bloom current = bloom;
+        return current == null ? 1.0 : Math.pow((double) current.bitCount() / current.bits, current.hashFunctions);
+    }
+
+    public long definiteNegatives() {
+        return definiteNegatives.sum();
+    }
+
+    public long possiblePositives() {
+        return possiblePositives.sum();
+    }
+
+    /**
+     * Bloom filter thread-safe (bits em AtomicLongArray, double hashing de Kirsch-Mitzenmacher)
+     */
+    private static final class Bloom {
+
+        private final AtomicLongArray words;
+        private final long bits;
+        private final int hashFunctions;
+
+        private Bloom(long bits, int hashFunctions) {
+            this.words = new AtomicLongArray((int) ((bits + 63) >>> 6));
+            this.bits = words.length() * 64L;
+            this.hashFunctions = hashFunctions;
+        }
+
+        static Bloom create(long expectedInsertions, double fpp) {
+            long n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(fpp) / (LN2 * LN2));
+            int k = Math.max(1, (int) Math.round((double) m / n * LN2));
+            return new Bloom(Math.max(64, m), k);
+        }
+
+        void put(String value) {
+            if (value == null) return;
+
+            long h1 = mix(fnv1a(value));
+            long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                if ((words.get(word) & mask) == 0) {
+                    words.getAndAccumulate(word, mask, (a, b) -> a | b);
+                }
+            }
+        }
+
+        boolean mightContain(String value) {
+            if (value == null) return false;
+
+            long h1 = mix(fnv1a(value));
+            long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long bitCount() {
+            long count = 0;
+            for (int i = 0; i < words.length(); i++) {
+                count += Long.bitCount(words.get(i));
+            }
+            return count;
+        }
+
+        private static long fnv1a(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+
+        // finalizador do SplitMix64
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.moneylegal.config;
+
+import com.moneylegal.auth.service.EmailOutboxDispatcher;
+import com.moneylegal.auth.service.LastLoginBuffer;
+import com.moneylegal.auth.service.RefreshTokenPurgeJob;
+import com.moneylegal.auth.service.RegisteredEmailFilter;
+import com.moneylegal.profile.cep.CepIndexLoader;
+import com.moneylegal.profile.service.ProfileCache;
+import com.moneylegal.profile.service.ViaCepService;
+import com.moneylegal.security.TokenEpochRegistry;
+import com.moneylegal.security.VerifiedTokenCache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas (Micrometer -> /actuator/prometheus)
+ *
+ * - @Timed nos serviços via TimedAspect (tags class/method)
+ * - Gauges/contadores dos componentes em background (caches, filas, jobs)
+ * - Hikari, JVM e http.server.requests vêm da auto-configuração do actuator
+ * - Percentis/histogramas configurados em management.metrics.distribution (application.yml)
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "moneylegal.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder verifiedTokenCacheMetrics(VerifiedTokenCache cache) {
+        return registry -> {
+            Gauge.builder("moneylegal.jwt.cache.size", cache, VerifiedTokenCache::size)
+                    .description("Access tokens verificados em cache")
+                    .register(registry);
+            FunctionCounter.builder("moneylegal.jwt.cache.requests", cache, c -> c.stats().hitCount())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("moneylegal.jwt.cache.requests", cache, c -> c.stats().missCount())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("moneylegal.jwt.cache.evictions", cache, c -> c.stats().evictionCount())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder tokenEpochRegistryMetrics(TokenEpochRegistry epochs) {
+        return registry -> Gauge.builder("moneylegal.jwt.epochs.size", epochs, TokenEpochRegistry::size)
+                .description("Usuários com época de token revogada em memória")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder emailOutboxMetrics(EmailOutboxDispatcher dispatcher) {
+        return registry -> Gauge.builder("moneylegal.email.outbox.queue", dispatcher, EmailOutboxDispatcher::queueDepth)
+                .description("Emails reivindicados aguardando envio no executor")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder registeredEmailFilterMetrics(RegisteredEmailFilter filter) {
+        return registry -> {
+            Gauge.builder("moneylegal.email.filter.memory", filter, RegisteredEmailFilter::memoryBytes)
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("moneylegal.email.filter.false.positive.rate", filter,
+                            RegisteredEmailFilter::estimatedFalsePositiveRate)
+                    .register(registry);
+            FunctionCounter.builder("moneylegal.email.filter.lookups", filter, RegisteredEmailFilter::definiteNegatives)
+                    .tag("result", "negative")
+                    .register(registry);
+            FunctionCounter.builder("moneylegal.email.filter.lookups", filter, RegisteredEmailFilter::possiblePositives)
+                    .tag("result", "possible")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder refreshTokenPurgeMetrics(RefreshTokenPurgeJob job) {
+        return registry -> {
+            Gauge.builder("moneylegal.refresh.purge.last.deleted", job, RefreshTokenPurgeJob::lastRunDeleted)
+                    .register(registry);
+            Gauge.builder("moneylegal.refresh.purge.last.duration", job, RefreshTokenPurgeJob::lastRunDurationMs)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            FunctionCounter.builder("moneylegal.refresh.purge.deleted", job, RefreshTokenPurgeJob::totalDeleted)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder viaCepCacheMetrics(ViaCepService viaCep) {
+        return registry -> {
+            Gauge.builder("moneylegal.viacep.cache.size", viaCep, ViaCepService::cacheSize)
+                    .description("CEPs em cache (inclui não encontrados)")
+                    .register(registry);
+            FunctionCounter.builder("moneylegal.viacep.cache.requests", viaCep, v -> v.cacheStats().hitCount())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("moneylegal.viacep.cache.requests", viaCep, v -> v.cacheStats().missCount())
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder cepIndexMetrics(CepIndexLoader cepIndex) {
+        return registry -> {
+            Gauge.builder("moneylegal.cep.index.size", cepIndex, CepIndexLoader::size)
+                    .description("CEPs no índice local mapeado em memória")
+                    .register(registry);
+            FunctionCounter.builder("moneylegal.cep.index.lookups", cepIndex, CepIndexLoader::hits)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("moneylegal.cep.index.lookups", cepIndex, CepIndexLoader::misses)
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder profileCacheMetrics(ProfileCache cache) {
+        return registry -> {
+            Gauge.builder("moneylegal.profile.cache.size", cache, ProfileCache::size)
+                    .description("Perfis (GET /profile/me) em cache, incluindo usuários sem perfil")
+                    .register(registry);
+            Gauge.builder("moneylegal.profile.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                    .register(registry);
+            FunctionCounter.builder("moneylegal.profile.cache.requests", cache, c -> c.stats().hitCount())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("moneylegal.profile.cache.requests", cache, c -> c.stats().missCount())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("moneylegal.profile.cache.evictions", cache, c -> c.stats().evictionCount())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder lastLoginBufferMetrics(LastLoginBuffer buffer) {
+        return registry -> Gauge.builder("moneylegal.last.login.pending", buffer, LastLoginBuffer::pendingCount)
+                .description("Últimos logins aguardando o próximo flush")
+                .register(registry);
+    }
+}
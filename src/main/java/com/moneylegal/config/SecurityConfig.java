@@ -1,9 +1,11 @@
 package com.moneylegal.config;
 
+import com.moneylegal.security.BCryptStrengthCalibrator;
 import com.moneylegal.security.JwtAuthenticationFilter;
 import com.moneylegal.security.RestAccessDeniedHandler;
 import com.moneylegal.security.RestAuthenticationEntryPoint;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -18,6 +20,7 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -27,6 +30,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -34,9 +38,28 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    private static final String BCRYPT_ID = "bcrypt";
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final UserDetailsService userDetailsService;
 
+    // Política de hashing de senha (0 = calibrar na subida)
+    @Value("${security.password-hashing.bcrypt.strength:0}")
+    private int bcryptStrength;
+
+    @Value("${security.password-hashing.bcrypt.target-ms:250}")
+    private long bcryptTargetMs;
+
+    @Value("${security.password-hashing.bcrypt.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${security.password-hashing.bcrypt.max-strength:14}")
+    private int bcryptMaxStrength;
+
+    // Porta interna do actuator (prometheus); -1 = mesma porta da API
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     // ✅ NOVO: devolve 401 quando não autenticado (token inválido/expirado, etc)
     private final RestAuthenticationEntryPoint restAuthenticationEntryPoint;
 
@@ -71,7 +94,9 @@ public class SecurityConfig {
                         .requestMatchers("/api/v1/auth/pre-register").permitAll()
                         //.requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/api/v1/public/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        // ✅ público só health/info; métricas (prometheus) só na porta interna de management
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort).permitAll()
 
                         // Swagger/OpenAPI
                         .requestMatchers(
@@ -108,9 +133,22 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * Encoder delegante: hashes novos saem como "{bcrypt}$2a$<custo>$...".
+     * Hashes antigos sem prefixo continuam validando (BCrypt) e são refeitos no próximo login.
+     * Custo fixo (strength > 0) ou calibrado na subida para o tempo-alvo.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = bcryptStrength > 0
+                ? bcryptStrength
+                : BCryptStrengthCalibrator.calibrate(bcryptTargetMs, bcryptMinStrength, bcryptMaxStrength);
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
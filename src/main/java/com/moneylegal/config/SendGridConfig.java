@@ -19,8 +19,18 @@ public class SendGridConfig {
     @Value("${sendgrid.from-name}")
     private String fromName;
 
+    // Opcional: aponta para um SendGrid fake local (ex.: localhost:4010, ver src/test: com.moneylegal.tools.FakeSendGridServer)
+    @Value("${sendgrid.host:}")
+    private String host;
+
     @Bean
     public SendGrid sendGrid() {
-        return new SendGrid(apiKey);
+        if (host == null || host.isBlank()) {
+            return new SendGrid(apiKey);
+        }
+
+        SendGrid sendGrid = new SendGrid(apiKey, true); // test = http
+        sendGrid.setHost(host);
+        return sendGrid;
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.moneylegal.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -56,6 +57,27 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiErrorResponse> handleOverloaded(
+            ServiceOverloadedException ex,
+            HttpServletRequest request
+    ) {
+        log.warn("Service overloaded: {} - path={}", ex.getMessage(), request.getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(
+                        ApiErrorResponse.builder()
+                                .timestamp(Instant.now())
+                                .status(503)
+                                .error("SERVICE_UNAVAILABLE")
+                                .message(ex.getMessage())
+                                .code("SERVICE_OVERLOADED")
+                                .path(request.getRequestURI())
+                                .build()
+                );
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiErrorResponse> handleValidation(
             MethodArgumentNotValidException ex,
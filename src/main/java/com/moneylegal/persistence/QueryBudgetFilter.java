@@ -0,0 +1,121 @@
+package com.moneylegal.persistence;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Orçamento de queries por endpoint.
+ *
+ * - Conta os statements de cada requisição (QueryCounter)
+ * - Acima do orçamento -> WARN com os formatos de SQL repetidos (candidatos a N+1)
+ * - Métrica moneylegal.http.queries{method,uri} e, fora de produção, header X-Query-Count
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean exposeHeader;
+    private final int defaultBudget;
+    private final Map<String, Integer> endpointBudgets;
+
+    public QueryBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${persistence.query-budget.enabled:true}") boolean enabled,
+            @Value("${persistence.query-budget.expose-header:false}") boolean exposeHeader,
+            @Value("${persistence.query-budget.default:10}") int defaultBudget,
+            @Value("${persistence.query-budget.endpoints:}") String endpointBudgets
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.exposeHeader = exposeHeader;
+        this.defaultBudget = defaultBudget;
+        this.endpointBudgets = parseBudgets(endpointBudgets);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        // o header precisa entrar antes do corpo ser enviado: segura o corpo só quando for expor
+        ContentCachingResponseWrapper cachingResponse = exposeHeader ? new ContentCachingResponseWrapper(response) : null;
+
+        QueryCounter.Scope scope = QueryCounter.open();
+        try {
+            filterChain.doFilter(request, cachingResponse != null ? cachingResponse : response);
+        } finally {
+            scope.close();
+            report(request, scope);
+
+            if (cachingResponse != null) {
+                cachingResponse.setHeader(HEADER, String.valueOf(scope.count()));
+                cachingResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String endpoint = request.getMethod() + " " + uri;
+
+        DistributionSummary.builder("moneylegal.http.queries")
+                .description("Statements SQL por requisição")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(scope.count());
+
+        int budget = endpointBudgets.getOrDefault(endpoint, defaultBudget);
+        if (scope.count() > budget) {
+            log.warn("[QUERIES] {} executou {} queries (orçamento {}). Repetidas: {}",
+                    endpoint, scope.count(), budget, scope.repeatedShapes());
+        }
+    }
+
+    /**
+     * "GET /api/v1/tenants=4, GET /api/v1/profile=6" -> mapa endpoint -> orçamento
+     */
+    private static Map<String, Integer> parseBudgets(String raw) {
+        Map<String, Integer> budgets = new HashMap<>();
+        if (raw == null || raw.isBlank()) return budgets;
+
+        for (String entry : raw.split(",")) {
+            int eq = entry.lastIndexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Orçamento de queries inválido: " + entry.trim());
+            }
+            budgets.put(entry.substring(0, eq).trim().replaceAll("\\s+", " "),
+                    Integer.parseInt(entry.substring(eq + 1).trim()));
+        }
+        return budgets;
+    }
+}
@@ -0,0 +1,101 @@
+package com.moneylegal.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Contagem de SQL por escopo (requisição HTTP ou bloco de teste) via StatementInspector do Hibernate.
+ *
+ * - Fora de um escopo (jobs, threads de executor) não conta nada
+ * - Agrupa por "formato" do SQL (literais e listas IN colapsados) para achar N+1
+ * - Escopos aninhados somam no escopo pai ao fechar
+ */
+public final class QueryCounter implements StatementInspector {
+
+    public static final QueryCounter INSTANCE = new QueryCounter();
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private QueryCounter() {
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.record(shapeOf(sql));
+        }
+        return sql;
+    }
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return IN_LIST.matcher(shape).replaceAll("(?)");
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int count;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private void record(String shape) {
+            count++;
+            shapes.merge(shape, 1, Integer::sum);
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /**
+         * Formatos executados mais de uma vez, do mais repetido para o menos
+         */
+        public Map<String, Integer> repeatedShapes() {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            List<Map.Entry<String, Integer>> entries = shapes.entrySet().stream()
+                    .filter(e -> e.getValue() > 1)
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .toList();
+            entries.forEach(e -> repeated.put(e.getKey(), e.getValue()));
+            return repeated;
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+
+            if (parent != null) {
+                parent.count += count;
+                shapes.forEach((shape, n) -> parent.shapes.merge(shape, n, Integer::sum));
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.moneylegal.persistence;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id gerado como UUIDv7 (ordenado pelo tempo) - substitui uuid2 / UUIDGenerator (v4 aleatório).
+ * Usar junto com @Type(UuidBinaryType.class) e columnDefinition = "BINARY(16)".
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+}
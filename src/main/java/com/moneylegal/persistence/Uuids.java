@@ -0,0 +1,70 @@
+package com.moneylegal.persistence;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * UUIDv7 (RFC 9562) e conversão String <-> BINARY(16).
+ *
+ * Layout v7: 48 bits de timestamp (ms) | versão | 12 bits de sequência | variante | 62 bits aleatórios.
+ * A sequência mantém os ids monotônicos dentro do mesmo milissegundo nesta JVM, então as inserções
+ * caem sempre no fim do índice clusterizado (em vez de espalhadas como no v4).
+ * Bytes iguais aos de UUID_TO_BIN(uuid) do MySQL (sem swap).
+ */
+public final class Uuids {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int SEQUENCE_MASK = 0xFFF;
+
+    private static long lastMillis = -1;
+    private static int sequence;
+
+    private Uuids() {
+    }
+
+    public static String newV7() {
+        long millis;
+        int seq;
+        synchronized (Uuids.class) {
+            millis = System.currentTimeMillis();
+            if (millis <= lastMillis) {
+                millis = lastMillis;
+                sequence = (sequence + 1) & SEQUENCE_MASK;
+                if (sequence == 0) {
+                    // sequência esgotada no mesmo ms: avança o relógio lógico
+                    millis = ++lastMillis;
+                }
+            } else {
+                lastMillis = millis;
+                sequence = RANDOM.nextInt(SEQUENCE_MASK / 2);
+            }
+            seq = sequence;
+        }
+
+        long msb = (millis << 16) | 0x7000L | seq;
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb).toString();
+    }
+
+    /**
+     * UUID textual -> 16 bytes; null se não for um UUID válido
+     */
+    public static byte[] toBytes(String uuid) {
+        UUID parsed;
+        try {
+            parsed = UUID.fromString(uuid);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(parsed.getMostSignificantBits())
+                .putLong(parsed.getLeastSignificantBits())
+                .array();
+    }
+
+    public static String fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
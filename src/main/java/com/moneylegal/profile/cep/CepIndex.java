@@ -0,0 +1,168 @@
+package com.moneylegal.profile.cep;
+
+import com.moneylegal.profile.dto.ViaCepResponseDTO;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Índice de CEPs mapeado em memória (arquivo gerado pelo CepIndexWriter, em src/tools).
+ *
+ * Layout (big-endian):
+ * <pre>
+ * header  : magic(int) version(int) count(int) fieldCount(int)
+ * keys    : int[count]                 CEPs ordenados
+ * records : int[count * fieldCount]    offsets no pool de strings, na ordem de {@link #FIELDS}
+ * pool    : (u16 tamanho + UTF-8)*     strings deduplicadas; offset 0 = ""
+ * </pre>
+ *
+ * - Busca binária direto no buffer (leituras absolutas): nenhuma alocação no heap até achar o CEP
+ * - Somente leitura: uma instância pode ser usada por várias threads
+ */
+public final class CepIndex {
+
+    static final int MAGIC = 0x43455049; // "CEPI"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    /**
+     * Campos do ViaCepResponseDTO guardados no índice (ordem dos offsets em cada registro)
+     */
+    static final String[] FIELDS = {"logradouro", "complemento", "bairro", "localidade", "uf", "ibge", "ddd"};
+
+    private static final int LOGRADOURO = 0;
+    private static final int COMPLEMENTO = 1;
+    private static final int BAIRRO = 2;
+    private static final int LOCALIDADE = 3;
+    private static final int UF = 4;
+    private static final int IBGE = 5;
+    private static final int DDD = 6;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int fieldCount;
+    private final int recordsOffset;
+    private final int poolOffset;
+
+    private CepIndex(Path path, MappedByteBuffer buffer, int count, int fieldCount) {
+        this.path = path;
+        this.buffer = buffer;
+        this.count = count;
+        this.fieldCount = fieldCount;
+        this.recordsOffset = HEADER_BYTES + count * 4;
+        this.poolOffset = recordsOffset + count * fieldCount * 4;
+    }
+
+    public static CepIndex open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Índice de CEP com tamanho inválido: " + size + " bytes");
+            }
+
+            // o mapeamento continua válido depois de fechar o canal
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Arquivo não é um índice de CEP (versão " + VERSION + "): " + path);
+            }
+
+            int count = buffer.getInt(8);
+            int fieldCount = buffer.getInt(12);
+            if (count < 0 || fieldCount != FIELDS.length
+                    || HEADER_BYTES + (long) count * 4 * (1 + fieldCount) > size) {
+                throw new IOException("Índice de CEP corrompido: " + path);
+            }
+
+            CepIndex index = new CepIndex(path, buffer, count, fieldCount);
+            index.validate(size);
+            return index;
+        }
+    }
+
+    /**
+     * Valida uma vez na abertura (chaves ordenadas, offsets e tamanhos dentro do pool):
+     * um arquivo truncado/corrompido nunca chega a substituir o índice em uso
+     */
+    private void validate(long size) throws IOException {
+        int previous = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int key = buffer.getInt(HEADER_BYTES + i * 4);
+            if (i > 0 && key <= previous) {
+                throw new IOException("Índice de CEP com chaves fora de ordem na posição " + i + ": " + path);
+            }
+            previous = key;
+        }
+
+        for (int i = 0, refs = count * fieldCount; i < refs; i++) {
+            int ref = buffer.getInt(recordsOffset + i * 4);
+            long offset = (long) poolOffset + ref;
+            if (ref < 0 || offset + 2 > size || offset + 2 + (buffer.getShort((int) offset) & 0xFFFF) > size) {
+                throw new IOException("Índice de CEP com pool de strings truncado/corrompido: " + path);
+            }
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Posição do CEP no índice ou -1
+     */
+    public int indexOf(int cep) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int key = buffer.getInt(HEADER_BYTES + mid * 4);
+            if (key < cep) low = mid + 1;
+            else if (key > cep) high = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    /**
+     * Endereço do CEP (8 dígitos) ou null se não estiver no índice
+     */
+    public ViaCepResponseDTO find(int cep) {
+        int record = indexOf(cep);
+        if (record < 0) return null;
+
+        return ViaCepResponseDTO.builder()
+                .cep(formatCep(cep))
+                .logradouro(field(record, LOGRADOURO))
+                .complemento(field(record, COMPLEMENTO))
+                .bairro(field(record, BAIRRO))
+                .localidade(field(record, LOCALIDADE))
+                .uf(field(record, UF))
+                .ibge(field(record, IBGE))
+                .ddd(field(record, DDD))
+                .build();
+    }
+
+    private String field(int record, int field) {
+        int offset = poolOffset + buffer.getInt(recordsOffset + (record * fieldCount + field) * 4);
+        int length = buffer.getShort(offset) & 0xFFFF;
+        if (length == 0) return "";
+
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static String formatCep(int cep) {
+        String digits = String.format("%08d", cep);
+        return digits.substring(0, 5) + "-" + digits.substring(5);
+    }
+}
@@ -0,0 +1,114 @@
+package com.moneylegal.profile.cep;
+
+import com.moneylegal.profile.dto.ViaCepResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mantém o {@link CepIndex} atual e troca por um novo arquivo sem restart.
+ *
+ * - viacep.index.path vazio = desligado (tudo vai para o ViaCEP)
+ * - Verifica data/tamanho do arquivo a cada reload-interval-ms; se mudou, mapeia o novo e troca a referência
+ * - Falha ao abrir o novo arquivo mantém o índice anterior
+ */
+@Component
+@Slf4j
+public class CepIndexLoader {
+
+    private final Path path;
+    private final AtomicReference<CepIndex> current = new AtomicReference<>();
+    private volatile FileVersion loadedVersion;
+
+    // métricas
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CepIndexLoader(@Value("${viacep.index.path:}") String path) {
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+        reloadIfChanged();
+    }
+
+    /**
+     * Endereço do CEP (8 dígitos) pelo índice local, ou null (índice desligado ou CEP ausente)
+     */
+    public ViaCepResponseDTO find(String cepDigits) {
+        CepIndex index = current.get();
+        if (index == null) return null;
+
+        ViaCepResponseDTO response;
+        try {
+            response = index.find(Integer.parseInt(cepDigits));
+        } catch (RuntimeException e) {
+            // defensivo (arquivo validado na abertura): na dúvida o ViaCEP responde
+            log.warn("[CEP-INDEX] Falha ao ler CEP {} de {}: {}", cepDigits, index.path(), e.toString());
+            response = null;
+        }
+
+        if (response != null) hits.increment();
+        else misses.increment();
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${viacep.index.reload-interval-ms:60000}")
+    public void reloadIfChanged() {
+        if (path == null) return;
+
+        FileVersion version;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            version = new FileVersion(attributes.lastModifiedTime().toMillis(), attributes.size(), attributes.fileKey());
+        } catch (NoSuchFileException e) {
+            if (loadedVersion == null) {
+                log.warn("[CEP-INDEX] Arquivo {} não encontrado; consultas vão para o ViaCEP", path);
+                loadedVersion = FileVersion.MISSING;
+            }
+            return;
+        } catch (IOException e) {
+            log.warn("[CEP-INDEX] Falha ao verificar {}: {}", path, e.getMessage());
+            return;
+        }
+
+        if (version.equals(loadedVersion)) return;
+
+        try {
+            long start = System.nanoTime();
+            CepIndex index = CepIndex.open(path);
+            CepIndex previous = current.getAndSet(index);
+            loadedVersion = version;
+            log.info("[CEP-INDEX] {} {} CEPs de {} em {} ms",
+                    previous == null ? "Carregados" : "Recarregados",
+                    index.size(), path, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            // mantém o índice anterior; tenta de novo quando o arquivo mudar
+            loadedVersion = version;
+            log.error("[CEP-INDEX] Falha ao carregar {}; mantendo o índice anterior", path, e);
+        }
+    }
+
+    public long size() {
+        CepIndex index = current.get();
+        return index == null ? 0 : index.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    private record FileVersion(long lastModified, long size, Object fileKey) {
+        static final FileVersion MISSING = new FileVersion(-1, -1, null);
+    }
+}
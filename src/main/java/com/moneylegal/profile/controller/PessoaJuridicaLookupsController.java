@@ -1,13 +1,14 @@
 package com.moneylegal.profile.controller;
 
-import com.moneylegal.profile.dto.*;
 import com.moneylegal.profile.service.PessoaJuridicaLookupsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
+/**
+ * ✅ JSON pré-serializado da foto em memória; If-None-Match com o ETag atual = 304 sem corpo
+ */
 @RestController
 @RequestMapping("/api/v1/lookups/pessoa-juridica")
 @RequiredArgsConstructor
@@ -16,18 +17,21 @@ public class PessoaJuridicaLookupsController {
     private final PessoaJuridicaLookupsService lookups;
 
     @GetMapping("/portes")
-    public ResponseEntity<List<LookupOptionDTO>> portes() {
-        return ResponseEntity.ok(lookups.listPortes());
+    public ResponseEntity<byte[]> portes(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return lookups.snapshot().portesJson().toResponse(ifNoneMatch);
     }
 
     @GetMapping("/naturezas")
-    public ResponseEntity<List<LookupOptionDTO>> naturezas() {
-        return ResponseEntity.ok(lookups.listNaturezas());
+    public ResponseEntity<byte[]> naturezas(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return lookups.snapshot().naturezasJson().toResponse(ifNoneMatch);
     }
 
     // Hierárquico: categorias + itens
     @GetMapping("/atividades")
-    public ResponseEntity<List<AtividadeCategoriaDTO>> atividades() {
-        return ResponseEntity.ok(lookups.listAtividades());
+    public ResponseEntity<byte[]> atividades(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return lookups.snapshot().atividadesJson().toResponse(ifNoneMatch);
     }
 }
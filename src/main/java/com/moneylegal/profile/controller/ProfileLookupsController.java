@@ -1,9 +1,9 @@
 package com.moneylegal.profile.controller;
 
-import com.moneylegal.profile.dto.PessoaJuridicaLookupsResponseDTO;
 import com.moneylegal.profile.service.PessoaJuridicaLookupsQueryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,10 +15,11 @@ public class ProfileLookupsController {
 
     private final PessoaJuridicaLookupsQueryService pjLookupsQueryService;
 
-    // ✅ retorna porte + natureza + atividade(categorias + itens) num único payload
+    // ✅ retorna porte + natureza + atividade(categorias + itens) num único payload (JSON pré-serializado + ETag)
     @GetMapping("/pessoa-juridica")
-    public ResponseEntity<PessoaJuridicaLookupsResponseDTO> getPessoaJuridicaLookups() {
-        log.info("GET /profile/lookups/pessoa-juridica");
-        return ResponseEntity.ok(pjLookupsQueryService.getAll());
+    public ResponseEntity<byte[]> getPessoaJuridicaLookups(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("GET /profile/lookups/pessoa-juridica");
+        return pjLookupsQueryService.getAllJson().toResponse(ifNoneMatch);
     }
 }
@@ -2,18 +2,16 @@ package com.moneylegal.profile.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
 import java.util.List;
 
-@Data
+@Value
 @Builder
-@NoArgsConstructor
 @AllArgsConstructor
 public class AtividadeCategoriaDTO {
-    private String id;
-    private String label;
-    private String icon;
-    private List<AtividadeItemDTO> items;
+    String id;
+    String label;
+    String icon;
+    List<AtividadeItemDTO> items;
 }
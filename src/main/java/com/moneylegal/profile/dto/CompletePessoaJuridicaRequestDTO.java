@@ -16,7 +16,8 @@ public class CompletePessoaJuridicaRequestDTO {
     private String nomeFantasia;
 
     @NotBlank(message = "CNPJ é obrigatório")
-    @Pattern(regexp = "\\d{2}\\.\\d{3}\\.\\d{3}/\\d{4}-\\d{2}", message = "CNPJ inválido. Use o formato: 12.345.678/0001-90")
+    // ✅ aceita o CNPJ alfanumérico (letras maiúsculas nas 12 primeiras posições)
+    @Pattern(regexp = "[0-9A-Z]{2}\\.[0-9A-Z]{3}\\.[0-9A-Z]{3}/[0-9A-Z]{4}-\\d{2}", message = "CNPJ inválido. Use o formato: 12.345.678/0001-90 ou 12.ABC.345/01DE-35")
     private String cnpj;
 
     private String inscricaoEstadual;
@@ -2,15 +2,13 @@ package com.moneylegal.profile.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
-@Data
+@Value
 @Builder
-@NoArgsConstructor
 @AllArgsConstructor
 public class LookupOptionDTO {
-    private String id;
-    private String label;
-    private String icon; // emoji ou nome do Lucide (string)
+    String id;
+    String label;
+    String icon; // emoji ou nome do Lucide (string)
 }
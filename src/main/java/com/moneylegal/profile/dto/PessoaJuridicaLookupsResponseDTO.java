@@ -4,44 +4,40 @@ import lombok.*;
 
 import java.util.List;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
+@Value
 @Builder
+@AllArgsConstructor
 public class PessoaJuridicaLookupsResponseDTO {
 
-    private List<OptionDTO> porteEmpresa;
-    private List<OptionDTO> naturezaJuridica;
-    private List<AtividadeCategoriaDTO> atividade;
+    List<OptionDTO> porteEmpresa;
+    List<OptionDTO> naturezaJuridica;
+    List<AtividadeCategoriaDTO> atividade;
 
-    @Data
-    @NoArgsConstructor
-    @AllArgsConstructor
+    @Value
     @Builder
+    @AllArgsConstructor
     public static class OptionDTO {
-        private String id;
-        private String label;
-        private String icon; // emoji ou lucide string
+        String id;
+        String label;
+        String icon; // emoji ou lucide string
     }
 
-    @Data
-    @NoArgsConstructor
-    @AllArgsConstructor
+    @Value
     @Builder
+    @AllArgsConstructor
     public static class AtividadeCategoriaDTO {
-        private String id;
-        private String label;
-        private String icon;
-        private List<AtividadeItemDTO> items;
+        String id;
+        String label;
+        String icon;
+        List<AtividadeItemDTO> items;
     }
 
-    @Data
-    @NoArgsConstructor
-    @AllArgsConstructor
+    @Value
     @Builder
+    @AllArgsConstructor
     public static class AtividadeItemDTO {
-        private String id;
-        private String label;
-        private String icon;
+        String id;
+        String label;
+        String icon;
     }
 }
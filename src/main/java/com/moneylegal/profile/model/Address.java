@@ -1,8 +1,10 @@
 package com.moneylegal.profile.model;
 
+import com.moneylegal.persistence.UuidBinaryType;
+import com.moneylegal.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 
@@ -16,12 +18,13 @@ import java.time.LocalDateTime;
 public class Address {
 
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
-    @Column(name = "id", updatable = false, nullable = false)
+    @UuidV7
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "BINARY(16)", updatable = false, nullable = false)
     private String id;
 
-    @Column(name = "profile_id", unique = true, nullable = false)
+    @Type(UuidBinaryType.class)
+    @Column(name = "profile_id", columnDefinition = "BINARY(16)", unique = true, nullable = false)
     private String profileId; // FK para Profile
 
     @Column(name = "cep", nullable = false, length = 9)
@@ -6,4 +6,6 @@ import java.util.List;
 
 public interface PessoaJuridicaAtividadeItemRepository extends JpaRepository<PessoaJuridicaAtividadeItem, String> {
     List<PessoaJuridicaAtividadeItem> findAllByIsActiveTrueAndCategoryIdOrderBySortOrderAscLabelAsc(String categoryId);
+
+    List<PessoaJuridicaAtividadeItem> findAllByIsActiveTrueOrderBySortOrderAscLabelAsc();
 }
@@ -0,0 +1,43 @@
+package com.moneylegal.profile.repository;
+
+import com.moneylegal.profile.model.*;
+
+/**
+ * Perfil completo carregado numa única consulta ({@link ProfileRepository#findAggregateByUserId}).
+ * Campos opcionais ficam null (PF/PJ ainda não preenchidos, lookups não informados, sem endereço).
+ */
+public record ProfileAggregate(
+        Profile profile,
+        PessoaFisica pessoaFisica,
+        PessoaJuridica pessoaJuridica,
+        PessoaJuridicaPorteEmpresa porteEmpresa,
+        PessoaJuridicaNaturezaJuridica naturezaJuridica,
+        PessoaJuridicaAtividadeItem atividadeItem,
+        PessoaJuridicaAtividadeCategoria atividadeCategoria,
+        Address address
+) {
+
+    public static ProfileAggregate of(Profile profile) {
+        return new ProfileAggregate(profile, null, null, null, null, null, null, null);
+    }
+
+    public ProfileAggregate withPessoaFisica(PessoaFisica pessoaFisica) {
+        return new ProfileAggregate(profile, pessoaFisica, null, null, null, null, null, address);
+    }
+
+    public ProfileAggregate withPessoaJuridica(
+            PessoaJuridica pessoaJuridica,
+            PessoaJuridicaPorteEmpresa porteEmpresa,
+            PessoaJuridicaNaturezaJuridica naturezaJuridica,
+            PessoaJuridicaAtividadeItem atividadeItem,
+            PessoaJuridicaAtividadeCategoria atividadeCategoria
+    ) {
+        return new ProfileAggregate(profile, null, pessoaJuridica, porteEmpresa, naturezaJuridica,
+                atividadeItem, atividadeCategoria, address);
+    }
+
+    public ProfileAggregate withAddress(Address address) {
+        return new ProfileAggregate(profile, pessoaFisica, pessoaJuridica, porteEmpresa, naturezaJuridica,
+                atividadeItem, atividadeCategoria, address);
+    }
+}
@@ -2,6 +2,8 @@ package com.moneylegal.profile.repository;
 
 import com.moneylegal.profile.model.Profile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,7 +13,23 @@ public interface ProfileRepository extends JpaRepository<Profile, String> {
     
     Optional<Profile> findByUserId(String userId);
     
-    boolean existsBySlug(String slug);
-    
     boolean existsByUserId(String userId);
+
+    /**
+     * ✅ Perfil + PF/PJ + lookups da PJ + endereço num único SELECT (joins por id, sem associações JPA).
+     * profile_id é UNIQUE em PF, PJ e endereço: no máximo uma linha.
+     */
+    @Query("""
+            SELECT new com.moneylegal.profile.repository.ProfileAggregate(p, pf, pj, porte, natureza, item, categoria, a)
+            FROM Profile p
+            LEFT JOIN PessoaFisica pf ON pf.profileId = p.id
+            LEFT JOIN PessoaJuridica pj ON pj.profileId = p.id
+            LEFT JOIN PessoaJuridicaPorteEmpresa porte ON porte.id = pj.porteEmpresaId
+            LEFT JOIN PessoaJuridicaNaturezaJuridica natureza ON natureza.id = pj.naturezaJuridicaId
+            LEFT JOIN PessoaJuridicaAtividadeItem item ON item.id = pj.atividadeItemId
+            LEFT JOIN PessoaJuridicaAtividadeCategoria categoria ON categoria.id = item.categoryId
+            LEFT JOIN Address a ON a.profileId = p.id
+            WHERE p.userId = :userId
+            """)
+    Optional<ProfileAggregate> findAggregateByUserId(@Param("userId") String userId);
 }
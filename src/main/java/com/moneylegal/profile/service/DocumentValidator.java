@@ -0,0 +1,166 @@
+package com.moneylegal.profile.service;
+
+/**
+ * Validação de CPF/CNPJ sem alocação: percorre o CharSequence uma vez, sem regex,
+ * sem String intermediária e sem exceção (retorna um {@link Result}).
+ *
+ * - Separadores de formatação ('.', '-', '/', ' ') são ignorados
+ * - CNPJ alfanumérico (Receita, a partir de 2026): as 12 primeiras posições aceitam [0-9A-Z]
+ *   (valor = código ASCII - 48); os 2 dígitos verificadores continuam numéricos
+ * - Entrada em lote para importações (validateCpfs / validateCnpjs)
+ */
+public final class DocumentValidator {
+
+    public enum Result {
+        VALID,
+        INVALID_LENGTH,
+        INVALID_CHARACTER,
+        REPEATED_DIGITS,
+        INVALID_CHECK_DIGITS;
+
+        public boolean isValid() {
+            return this == VALID;
+        }
+    }
+
+    public static final int CPF_LENGTH = 11;
+    public static final int CNPJ_LENGTH = 14;
+
+    private static final int[] CNPJ_WEIGHTS = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    private DocumentValidator() {
+    }
+
+    public static Result validateCpf(CharSequence cpf) {
+        if (cpf == null) return Result.INVALID_LENGTH;
+
+        int count = 0;
+        int sum1 = 0;
+        int sum2 = 0;
+        int first = -1;
+        boolean allEqual = true;
+        int check1 = 0;
+        int check2 = 0;
+
+        for (int i = 0, n = cpf.length(); i < n; i++) {
+            char c = cpf.charAt(i);
+            if (isSeparator(c)) continue;
+            if (c < '0' || c > '9') return Result.INVALID_CHARACTER;
+            if (count == CPF_LENGTH) return Result.INVALID_LENGTH;
+
+            int v = c - '0';
+            if (first < 0) first = v;
+            else if (v != first) allEqual = false;
+
+            if (count < 9) {
+                sum1 += v * (10 - count);
+                sum2 += v * (11 - count);
+            } else if (count == 9) {
+                check1 = v;
+                sum2 += v * 2;
+            } else {
+                check2 = v;
+            }
+            count++;
+        }
+
+        if (count != CPF_LENGTH) return Result.INVALID_LENGTH;
+        if (allEqual) return Result.REPEATED_DIGITS;
+        return checkDigit(sum1) == check1 && checkDigit(sum2) == check2
+                ? Result.VALID
+                : Result.INVALID_CHECK_DIGITS;
+    }
+
+    public static Result validateCnpj(CharSequence cnpj) {
+        if (cnpj == null) return Result.INVALID_LENGTH;
+
+        int count = 0;
+        int sum1 = 0;
+        int sum2 = 0;
+        int first = -1;
+        boolean allEqual = true;
+        int check1 = 0;
+        int check2 = 0;
+
+        for (int i = 0, n = cnpj.length(); i < n; i++) {
+            char c = cnpj.charAt(i);
+            if (isSeparator(c)) continue;
+            if (count == CNPJ_LENGTH) return Result.INVALID_LENGTH;
+
+            int v;
+            if (c >= '0' && c <= '9') {
+                v = c - '0';
+            } else if (count < 12 && c >= 'A' && c <= 'Z') {
+                v = c - '0';
+            } else if (count < 12 && c >= 'a' && c <= 'z') {
+                v = c - 'a' + 'A' - '0';
+            } else {
+                return Result.INVALID_CHARACTER;
+            }
+
+            if (first < 0) first = v;
+            else if (v != first) allEqual = false;
+
+            if (count < 12) {
+                // pesos do 1º dígito = pesos do 2º deslocados uma posição
+                sum1 += v * CNPJ_WEIGHTS[count + 1];
+                sum2 += v * CNPJ_WEIGHTS[count];
+            } else if (count == 12) {
+                check1 = v;
+                sum2 += v * 2;
+            } else {
+                check2 = v;
+            }
+            count++;
+        }
+
+        if (count != CNPJ_LENGTH) return Result.INVALID_LENGTH;
+        if (allEqual) return Result.REPEATED_DIGITS;
+        return checkDigit(sum1) == check1 && checkDigit(sum2) == check2
+                ? Result.VALID
+                : Result.INVALID_CHECK_DIGITS;
+    }
+
+    /**
+     * Valida em lote; results[i] recebe o resultado de cpfs[i]. Retorna quantos são válidos.
+     */
+    public static int validateCpfs(CharSequence[] cpfs, Result[] results) {
+        requireSameLength(cpfs, results);
+        int valid = 0;
+        for (int i = 0; i < cpfs.length; i++) {
+            Result result = validateCpf(cpfs[i]);
+            results[i] = result;
+            if (result == Result.VALID) valid++;
+        }
+        return valid;
+    }
+
+    /**
+     * Valida em lote; results[i] recebe o resultado de cnpjs[i]. Retorna quantos são válidos.
+     */
+    public static int validateCnpjs(CharSequence[] cnpjs, Result[] results) {
+        requireSameLength(cnpjs, results);
+        int valid = 0;
+        for (int i = 0; i < cnpjs.length; i++) {
+            Result result = validateCnpj(cnpjs[i]);
+            results[i] = result;
+            if (result == Result.VALID) valid++;
+        }
+        return valid;
+    }
+
+    private static int checkDigit(int sum) {
+        int rest = sum % 11;
+        return rest < 2 ? 0 : 11 - rest;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == '-' || c == '/' || c == ' ';
+    }
+
+    private static void requireSameLength(CharSequence[] documents, Result[] results) {
+        if (results.length < documents.length) {
+            throw new IllegalArgumentException("results menor que a entrada: " + results.length + " < " + documents.length);
+        }
+    }
+}
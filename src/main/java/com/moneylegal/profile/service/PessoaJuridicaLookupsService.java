@@ -1,71 +1,141 @@
 package com.moneylegal.profile.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moneylegal.exception.BadRequestException;
 import com.moneylegal.profile.dto.*;
 import com.moneylegal.profile.model.*;
 import com.moneylegal.profile.repository.*;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
-
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lookups de PJ servidos de uma foto imutável em memória ({@link PessoaJuridicaLookupsSnapshot}).
+ *
+ * - Carregada na subida (4 consultas, uma por tabela)
+ * - A cada refresh-interval-ms compara a versão das tabelas (COUNT + MAX(updated_at), V34) e só
+ *   relê quando mudou: alterações aparecem em até um intervalo
+ * - Troca atômica da referência: leitores nunca veem uma foto pela metade
+ * - refresh() pode ser chamado por quem alterar as tabelas de lookup
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class PessoaJuridicaLookupsService {
 
+    // COUNT pega remoções; MAX(updated_at) pega inclusões e alterações
+    private static final String VERSION_SQL = "SELECT CONCAT_WS('|', " +
+            "(SELECT COUNT(*) FROM pessoa_juridica_porte_empresa), " +
+            "(SELECT MAX(updated_at) FROM pessoa_juridica_porte_empresa), " +
+            "(SELECT COUNT(*) FROM pessoa_juridica_natureza_juridica), " +
+            "(SELECT MAX(updated_at) FROM pessoa_juridica_natureza_juridica), " +
+            "(SELECT COUNT(*) FROM pessoa_juridica_atividade_categoria), " +
+            "(SELECT MAX(updated_at) FROM pessoa_juridica_atividade_categoria), " +
+            "(SELECT COUNT(*) FROM pessoa_juridica_atividade_item), " +
+            "(SELECT MAX(updated_at) FROM pessoa_juridica_atividade_item))";
+
     private final PessoaJuridicaPorteEmpresaRepository porteRepo;
     private final PessoaJuridicaNaturezaJuridicaRepository naturezaRepo;
     private final PessoaJuridicaAtividadeCategoriaRepository categoriaRepo;
     private final PessoaJuridicaAtividadeItemRepository itemRepo;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AtomicReference<PessoaJuridicaLookupsSnapshot> snapshot = new AtomicReference<>();
+    private volatile String loadedVersion;
+
+    public PessoaJuridicaLookupsService(
+            PessoaJuridicaPorteEmpresaRepository porteRepo,
+            PessoaJuridicaNaturezaJuridicaRepository naturezaRepo,
+            PessoaJuridicaAtividadeCategoriaRepository categoriaRepo,
+            PessoaJuridicaAtividadeItemRepository itemRepo,
+            ObjectMapper objectMapper,
+            JdbcTemplate jdbcTemplate
+    ) {
+        this.porteRepo = porteRepo;
+        this.naturezaRepo = naturezaRepo;
+        this.categoriaRepo = categoriaRepo;
+        this.itemRepo = itemRepo;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // =====================================================
+    // FOTO EM MEMÓRIA
+    // =====================================================
+
+    public PessoaJuridicaLookupsSnapshot snapshot() {
+        PessoaJuridicaLookupsSnapshot current = snapshot.get();
+        return current != null ? current : refresh();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${profile.lookups.refresh-interval-ms:60000}",
+            initialDelayString = "${profile.lookups.refresh-interval-ms:60000}")
+    public void refreshPeriodically() {
+        try {
+            if (snapshot.get() != null && currentVersion().equals(loadedVersion)) {
+                return;
+            }
+            refresh();
+        } catch (Exception e) {
+            log.error("[PJ-LOOKUPS] Falha ao recarregar; mantendo a foto anterior", e);
+        }
+    }
+
+    /**
+     * Relê as 4 tabelas e troca a foto (sempre, mesmo sem mudança de versão)
+     */
+    public PessoaJuridicaLookupsSnapshot refresh() {
+        long start = System.currentTimeMillis();
+        // versão lida antes das tabelas: uma mudança no meio do caminho é relida no próximo ciclo
+        String version = currentVersion();
+
+        PessoaJuridicaLookupsSnapshot next = PessoaJuridicaLookupsSnapshot.build(
+                porteRepo.findAllByIsActiveTrueOrderBySortOrderAscLabelAsc(),
+                naturezaRepo.findAllByIsActiveTrueOrderBySortOrderAscLabelAsc(),
+                categoriaRepo.findAllByIsActiveTrueOrderBySortOrderAscLabelAsc(),
+                itemRepo.findAllByIsActiveTrueOrderBySortOrderAscLabelAsc(),
+                objectMapper
+        );
+
+        PessoaJuridicaLookupsSnapshot previous = snapshot.getAndSet(next);
+        loadedVersion = version;
+        if (previous == null || !previous.allJson().etag().equals(next.allJson().etag())) {
+            log.info("[PJ-LOOKUPS] Foto {} em {}ms: etag={}",
+                    previous == null ? "carregada" : "atualizada",
+                    System.currentTimeMillis() - start, next.allJson().etag());
+        }
+        return next;
+    }
+
+    private String currentVersion() {
+        return jdbcTemplate.queryForObject(VERSION_SQL, String.class);
+    }
 
     // =====================================================
     // LISTAGENS (para o frontend)
     // =====================================================
 
     public List<LookupOptionDTO> listPortes() {
-        return porteRepo.findAllByIsActiveTrueOrderBySortOrderAscLabelAsc()
-                .stream()
-                .map(p -> LookupOptionDTO.builder()
-                        .id(p.getId())
-                        .label(p.getLabel())
-                        .icon(p.getIcon())
-                        .build())
-                .collect(Collectors.toList());
+        return snapshot().portes();
     }
 
     public List<LookupOptionDTO> listNaturezas() {
-        return naturezaRepo.findAllByIsActiveTrueOrderBySortOrderAscLabelAsc()
-                .stream()
-                .map(n -> LookupOptionDTO.builder()
-                        .id(n.getId())
-                        .label(n.getLabel())
-                        .icon(n.getIcon())
-                        .build())
-                .collect(Collectors.toList());
+        return snapshot().naturezas();
     }
 
     public List<AtividadeCategoriaDTO> listAtividades() {
-        return categoriaRepo.findAllByIsActiveTrueOrderBySortOrderAscLabelAsc()
-                .stream()
-                .map(cat -> {
-                    var items = itemRepo.findAllByIsActiveTrueAndCategoryIdOrderBySortOrderAscLabelAsc(cat.getId())
-                            .stream()
-                            .map(it -> AtividadeItemDTO.builder()
-                                    .id(it.getId())
-                                    .label(it.getLabel())
-                                    .icon(it.getIcon())
-                                    .build())
-                            .collect(Collectors.toList());
-
-                    return AtividadeCategoriaDTO.builder()
-                            .id(cat.getId())
-                            .label(cat.getLabel())
-                            .icon(cat.getIcon())
-                            .items(items)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        return snapshot().atividades();
     }
 
     // =====================================================
@@ -75,30 +145,30 @@ public class PessoaJuridicaLookupsService {
     public PessoaJuridicaPorteEmpresa requirePorteAtivo(String id) {
         if (id == null) return null;
 
-        return porteRepo.findById(id)
-                .filter(PessoaJuridicaPorteEmpresa::getIsActive)
-                .orElseThrow(() ->
-                        new BadRequestException("Porte da empresa inválido ou inativo")
-                );
+        PessoaJuridicaPorteEmpresa porte = snapshot().porteAtivo(id);
+        if (porte == null) {
+            throw new BadRequestException("Porte da empresa inválido ou inativo");
+        }
+        return porte;
     }
 
     public PessoaJuridicaNaturezaJuridica requireNaturezaAtiva(String id) {
         if (id == null) return null;
 
-        return naturezaRepo.findById(id)
-                .filter(PessoaJuridicaNaturezaJuridica::getIsActive)
-                .orElseThrow(() ->
-                        new BadRequestException("Natureza jurídica inválida ou inativa")
-                );
+        PessoaJuridicaNaturezaJuridica natureza = snapshot().naturezaAtiva(id);
+        if (natureza == null) {
+            throw new BadRequestException("Natureza jurídica inválida ou inativa");
+        }
+        return natureza;
     }
 
     public PessoaJuridicaAtividadeItem requireAtividadeItemAtivo(String id) {
         if (id == null) return null;
 
-        return itemRepo.findById(id)
-                .filter(PessoaJuridicaAtividadeItem::getIsActive)
-                .orElseThrow(() ->
-                        new BadRequestException("Atividade principal inválida ou inativa")
-                );
+        PessoaJuridicaAtividadeItem item = snapshot().atividadeItemAtivo(id);
+        if (item == null) {
+            throw new BadRequestException("Atividade principal inválida ou inativa");
+        }
+        return item;
     }
 }
@@ -0,0 +1,220 @@
+package com.moneylegal.profile.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneylegal.profile.dto.AtividadeCategoriaDTO;
+import com.moneylegal.profile.dto.AtividadeItemDTO;
+import com.moneylegal.profile.dto.LookupOptionDTO;
+import com.moneylegal.profile.dto.PessoaJuridicaLookupsResponseDTO;
+import com.moneylegal.profile.model.PessoaJuridicaAtividadeCategoria;
+import com.moneylegal.profile.model.PessoaJuridicaAtividadeItem;
+import com.moneylegal.profile.model.PessoaJuridicaNaturezaJuridica;
+import com.moneylegal.profile.model.PessoaJuridicaPorteEmpresa;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Foto imutável dos lookups de PJ (porte, natureza, atividade categoria + itens).
+ *
+ * - Mapas id -> registro ativo para as validações do ProfileService (sem ir ao banco)
+ * - JSON de cada endpoint já serializado em bytes, com ETag forte (SHA-256 do corpo)
+ * - Trocada inteira por uma nova quando os dados mudam (nunca alterada no lugar)
+ * - DTOs sem setters (@Value) e listas imutáveis: a mesma instância atende todas as requisições,
+ *   então nenhum chamador consegue divergir o objeto do JSON/ETag pré-renderado
+ */
+public final class PessoaJuridicaLookupsSnapshot {
+
+    private final Map<String, PessoaJuridicaPorteEmpresa> portesAtivos;
+    private final Map<String, PessoaJuridicaNaturezaJuridica> naturezasAtivas;
+    private final Map<String, PessoaJuridicaAtividadeItem> itensAtivos;
+    private final Map<String, PessoaJuridicaAtividadeCategoria> categoriasAtivas;
+
+    private final List<LookupOptionDTO> portes;
+    private final List<LookupOptionDTO> naturezas;
+    private final List<AtividadeCategoriaDTO> atividades;
+    private final PessoaJuridicaLookupsResponseDTO all;
+
+    private final JsonBody portesJson;
+    private final JsonBody naturezasJson;
+    private final JsonBody atividadesJson;
+    private final JsonBody allJson;
+
+    /**
+     * Listas já filtradas (is_active) e ordenadas por sort_order, label
+     */
+    static PessoaJuridicaLookupsSnapshot build(
+            List<PessoaJuridicaPorteEmpresa> portes,
+            List<PessoaJuridicaNaturezaJuridica> naturezas,
+            List<PessoaJuridicaAtividadeCategoria> categorias,
+            List<PessoaJuridicaAtividadeItem> itens,
+            ObjectMapper objectMapper
+    ) {
+        return new PessoaJuridicaLookupsSnapshot(portes, naturezas, categorias, itens, objectMapper);
+    }
+
+    private PessoaJuridicaLookupsSnapshot(
+            List<PessoaJuridicaPorteEmpresa> portes,
+            List<PessoaJuridicaNaturezaJuridica> naturezas,
+            List<PessoaJuridicaAtividadeCategoria> categorias,
+            List<PessoaJuridicaAtividadeItem> itens,
+            ObjectMapper objectMapper
+    ) {
+        this.portesAtivos = byId(portes, PessoaJuridicaPorteEmpresa::getId);
+        this.naturezasAtivas = byId(naturezas, PessoaJuridicaNaturezaJuridica::getId);
+        this.itensAtivos = byId(itens, PessoaJuridicaAtividadeItem::getId);
+        this.categoriasAtivas = byId(categorias, PessoaJuridicaAtividadeCategoria::getId);
+
+        this.portes = portes.stream()
+                .map(p -> new LookupOptionDTO(p.getId(), p.getLabel(), p.getIcon()))
+                .toList();
+        this.naturezas = naturezas.stream()
+                .map(n -> new LookupOptionDTO(n.getId(), n.getLabel(), n.getIcon()))
+                .toList();
+
+        // ✅ itens agrupados em memória (uma consulta só, em vez de uma por categoria)
+        Map<String, List<AtividadeItemDTO>> itensPorCategoria = itens.stream()
+                .collect(Collectors.groupingBy(
+                        PessoaJuridicaAtividadeItem::getCategoryId,
+                        LinkedHashMap::new,
+                        Collectors.mapping(
+                                it -> new AtividadeItemDTO(it.getId(), it.getLabel(), it.getIcon()),
+                                Collectors.toUnmodifiableList())));
+
+        this.atividades = categorias.stream()
+                .map(cat -> new AtividadeCategoriaDTO(cat.getId(), cat.getLabel(), cat.getIcon(),
+                        itensPorCategoria.getOrDefault(cat.getId(), List.of())))
+                .toList();
+
+        this.all = PessoaJuridicaLookupsResponseDTO.builder()
+                .porteEmpresa(portes.stream()
+                        .map(p -> new PessoaJuridicaLookupsResponseDTO.OptionDTO(p.getId(), p.getLabel(), p.getIcon()))
+                        .toList())
+                .naturezaJuridica(naturezas.stream()
+                        .map(n -> new PessoaJuridicaLookupsResponseDTO.OptionDTO(n.getId(), n.getLabel(), n.getIcon()))
+                        .toList())
+                .atividade(this.atividades.stream()
+                        .map(cat -> new PessoaJuridicaLookupsResponseDTO.AtividadeCategoriaDTO(
+                                cat.getId(), cat.getLabel(), cat.getIcon(),
+                                cat.getItems().stream()
+                                        .map(it -> new PessoaJuridicaLookupsResponseDTO.AtividadeItemDTO(
+                                                it.getId(), it.getLabel(), it.getIcon()))
+                                        .toList()))
+                        .toList())
+                .build();
+
+        this.portesJson = JsonBody.of(objectMapper, this.portes);
+        this.naturezasJson = JsonBody.of(objectMapper, this.naturezas);
+        this.atividadesJson = JsonBody.of(objectMapper, this.atividades);
+        this.allJson = JsonBody.of(objectMapper, this.all);
+    }
+
+    public PessoaJuridicaPorteEmpresa porteAtivo(String id) {
+        return portesAtivos.get(id);
+    }
+
+    public PessoaJuridicaNaturezaJuridica naturezaAtiva(String id) {
+        return naturezasAtivas.get(id);
+    }
+
+    public PessoaJuridicaAtividadeItem atividadeItemAtivo(String id) {
+        return itensAtivos.get(id);
+    }
+
+    public PessoaJuridicaAtividadeCategoria atividadeCategoriaAtiva(String id) {
+        return categoriasAtivas.get(id);
+    }
+
+    public List<LookupOptionDTO> portes() {
+        return portes;
+    }
+
+    public List<LookupOptionDTO> naturezas() {
+        return naturezas;
+    }
+
+    public List<AtividadeCategoriaDTO> atividades() {
+        return atividades;
+    }
+
+    public PessoaJuridicaLookupsResponseDTO all() {
+        return all;
+    }
+
+    public JsonBody portesJson() {
+        return portesJson;
+    }
+
+    public JsonBody naturezasJson() {
+        return naturezasJson;
+    }
+
+    public JsonBody atividadesJson() {
+        return atividadesJson;
+    }
+
+    public JsonBody allJson() {
+        return allJson;
+    }
+
+    private static <T> Map<String, T> byId(List<T> rows, Function<T, String> id) {
+        return rows.stream().collect(Collectors.toUnmodifiableMap(id, Function.identity()));
+    }
+
+    /**
+     * JSON pré-serializado + ETag forte. O array não é copiado: não alterar.
+     */
+    public record JsonBody(byte[] body, String etag) {
+
+        private static final CacheControl CACHE_CONTROL = CacheControl.noCache();
+
+        static JsonBody of(ObjectMapper objectMapper, Object value) {
+            try {
+                byte[] body = objectMapper.writeValueAsBytes(value);
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+                return new JsonBody(body, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+            } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Falha ao serializar lookups de PJ", e);
+            }
+        }
+
+        /**
+         * 304 se o If-None-Match do cliente bate com o ETag; senão 200 com o corpo
+         */
+        public ResponseEntity<byte[]> toResponse(String ifNoneMatch) {
+            if (matches(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(CACHE_CONTROL)
+                        .build();
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(etag)
+                    .cacheControl(CACHE_CONTROL)
+                    .body(body);
+        }
+
+        private boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                // If-None-Match usa comparação fraca: W/"x" equivale a "x"
+                if (tag.startsWith("W/")) tag = tag.substring(2);
+                if (tag.equals("*") || tag.equals(etag)) return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.moneylegal.profile.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.moneylegal.profile.dto.ProfileResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cache por usuário do ProfileResponseDTO montado (GET /profile/me).
+ *
+ * - Tamanho máximo + TTL (memória previsível; outras instâncias convergem em até ttl-seconds)
+ * - "Ainda sem perfil" também fica em cache, com TTL menor
+ * - Invalidação após o commit das etapas do wizard (nunca antes: um leitor concorrente recarregaria o estado antigo)
+ * - Carga dentro do compute do Caffeine: invalidação concorrente espera a carga terminar e a descarta
+ */
+@Component
+@Slf4j
+public class ProfileCache {
+
+    private final boolean enabled;
+    private final Cache<String, CachedProfile> cache;
+
+    public ProfileCache(
+            @Value("${profile.cache.enabled:true}") boolean enabled,
+            @Value("${profile.cache.max-size:50000}") long maxSize,
+            @Value("${profile.cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${profile.cache.negative-ttl-seconds:30}") long negativeTtlSeconds
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new PresentOrAbsentExpiry(
+                        TimeUnit.SECONDS.toNanos(ttlSeconds),
+                        TimeUnit.SECONDS.toNanos(negativeTtlSeconds)))
+                .recordStats()
+                .build();
+
+        log.info("[PROFILE-CACHE] enabled={}, maxSize={}, ttl={}s, negativeTtl={}s",
+                enabled, maxSize, ttlSeconds, negativeTtlSeconds);
+    }
+
+    /**
+     * Read-through: devolve do cache ou carrega com o loader (uma carga por usuário por vez)
+     */
+    public Optional<ProfileResponseDTO> get(String userId, Function<String, Optional<ProfileResponseDTO>> loader) {
+        if (!enabled) return loader.apply(userId);
+
+        return cache.get(userId, id -> new CachedProfile(loader.apply(id).orElse(null))).asOptional();
+    }
+
+    /**
+     * Remove a entrada do usuário após o commit da transação atual (ou imediatamente, sem transação)
+     */
+    public void invalidateAfterCommit(String userId) {
+        if (!enabled) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidate(userId);
+            }
+        });
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * response == null representa "usuário ainda sem perfil" (cache negativo)
+     */
+    private record CachedProfile(ProfileResponseDTO response) {
+        Optional<ProfileResponseDTO> asOptional() {
+            return Optional.ofNullable(response);
+        }
+    }
+
+    private record PresentOrAbsentExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<String, CachedProfile> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedProfile value, long currentTime) {
+            return value.response() != null ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedProfile value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedProfile value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
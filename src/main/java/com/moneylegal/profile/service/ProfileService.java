@@ -1,9 +1,13 @@
 package com.moneylegal.profile.service;
 
+import com.moneylegal.config.MetricsConfig;
 import com.moneylegal.exception.BadRequestException;
 import com.moneylegal.profile.dto.*;
 import com.moneylegal.profile.model.*;
 import com.moneylegal.profile.repository.*;
+import com.moneylegal.slug.SlugAllocator;
+import com.moneylegal.slug.SlugReservation;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -12,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Slf4j
 @RequiredArgsConstructor
 public class ProfileService {
@@ -22,16 +27,14 @@ public class ProfileService {
     private final AddressRepository addressRepository;
 
     // Lookups PJ
-    private final PessoaJuridicaPorteEmpresaRepository pjPorteRepo;
-    private final PessoaJuridicaNaturezaJuridicaRepository pjNaturezaRepo;
     private final PessoaJuridicaAtividadeCategoriaRepository pjAtvCatRepo;
-    private final PessoaJuridicaAtividadeItemRepository pjAtvItemRepo;
 
     private final PessoaJuridicaLookupsService pessoaJuridicaLookupsService;
 
-    private final SlugService slugService;
+    private final SlugAllocator slugAllocator;
     private final DocumentValidationService documentValidationService;
     private final ViaCepService viaCepService;
+    private final ProfileCache profileCache;
 
     /**
      * PASSO 1: Escolher tipo de cadastro (PF ou PJ)
@@ -43,25 +46,27 @@ public class ProfileService {
     @Transactional
     public ProfileResponseDTO chooseType(String userId, ChooseTypeRequestDTO request) {
         log.info("Choosing profile type for user: {}", userId);
+        profileCache.invalidateAfterCommit(userId);
 
         Profile.TipoCadastro newTipo = request.getTipo();
-        Profile profile = profileRepository.findByUserId(userId).orElse(null);
+        ProfileAggregate aggregate = profileRepository.findAggregateByUserId(userId).orElse(null);
 
-        if (profile == null) {
-            profile = Profile.builder()
+        if (aggregate == null) {
+            Profile profile = Profile.builder()
                     .userId(userId)
                     .tipo(newTipo)
                     .isCompleted(false)
                     .build();
 
             profile = profileRepository.save(profile);
-            return buildProfileResponse(profile);
+            return buildProfileResponse(ProfileAggregate.of(profile));
         }
 
-        boolean hasAddress = addressRepository.existsByProfileId(profile.getId());
+        Profile profile = aggregate.profile();
+        boolean hasAddress = aggregate.address() != null;
         if (Boolean.TRUE.equals(profile.getIsCompleted()) || hasAddress) {
             // idempotente se re-enviar o mesmo tipo
-            if (profile.getTipo() == newTipo) return buildProfileResponse(profile);
+            if (profile.getTipo() == newTipo) return buildProfileResponse(aggregate);
 
             throw new BadRequestException(
                     "Cadastro finalizado: não é possível alterar o tipo de pessoa após cadastrar o endereço."
@@ -70,20 +75,20 @@ public class ProfileService {
 
         if (profile.getTipo() != newTipo) {
             // limpa dados antigos para evitar inconsistência
-            if (profile.isPessoaFisica()) {
-                pessoaFisicaRepository.findByProfileId(profile.getId())
-                        .ifPresent(pessoaFisicaRepository::delete);
-            } else if (profile.isPessoaJuridica()) {
-                pessoaJuridicaRepository.findByProfileId(profile.getId())
-                        .ifPresent(pessoaJuridicaRepository::delete);
+            if (aggregate.pessoaFisica() != null) {
+                pessoaFisicaRepository.delete(aggregate.pessoaFisica());
+            }
+            if (aggregate.pessoaJuridica() != null) {
+                pessoaJuridicaRepository.delete(aggregate.pessoaJuridica());
             }
 
             profile.setTipo(newTipo);
             profile.setSlug(null); // evita slug incoerente
             profile = profileRepository.save(profile);
+            aggregate = ProfileAggregate.of(profile).withAddress(aggregate.address());
         }
 
-        return buildProfileResponse(profile);
+        return buildProfileResponse(aggregate);
     }
 
     /**
@@ -92,18 +97,19 @@ public class ProfileService {
     @Transactional
     public ProfileResponseDTO completePessoaFisica(String userId, CompletePessoaFisicaRequestDTO request) {
         log.info("Completing Pessoa Fisica for user: {}", userId);
+        profileCache.invalidateAfterCommit(userId);
 
-        Profile profile = profileRepository.findByUserId(userId)
+        ProfileAggregate aggregate = profileRepository.findAggregateByUserId(userId)
                 .orElseThrow(() -> new BadRequestException("Perfil não encontrado"));
+        Profile profile = aggregate.profile();
 
         if (!profile.isPessoaFisica()) {
             throw new BadRequestException("Perfil não é do tipo Pessoa Física");
         }
 
-        String cpfDigits = request.getCpf().replaceAll("\\D", "");
-        documentValidationService.validateCpf(cpfDigits);
+        documentValidationService.validateCpf(request.getCpf());
 
-        PessoaFisica pessoaFisica = pessoaFisicaRepository.findByProfileId(profile.getId()).orElse(null);
+        PessoaFisica pessoaFisica = aggregate.pessoaFisica();
 
         if (pessoaFisica == null || !request.getCpf().equals(pessoaFisica.getCpf())) {
             if (pessoaFisicaRepository.existsByCpf(request.getCpf())) {
@@ -112,7 +118,7 @@ public class ProfileService {
         }
 
         if (profile.getSlug() == null || profile.getSlug().isBlank()) {
-            profile.setSlug(slugService.generateUniqueSlug(request.getNomeCompleto()));
+            profile.setSlug(slugAllocator.allocate(SlugReservation.Scope.PROFILE, request.getNomeCompleto()));
             profileRepository.save(profile);
         }
 
@@ -127,8 +133,8 @@ public class ProfileService {
         pessoaFisica.setDataNascimento(request.getDataNascimento());
         pessoaFisica.setTelefone(request.getTelefone());
 
-        pessoaFisicaRepository.save(pessoaFisica);
-        return buildProfileResponse(profile);
+        pessoaFisica = pessoaFisicaRepository.save(pessoaFisica);
+        return buildProfileResponse(aggregate.withPessoaFisica(pessoaFisica));
     }
 
     /**
@@ -138,18 +144,19 @@ public class ProfileService {
     @Transactional
     public ProfileResponseDTO completePessoaJuridica(String userId, CompletePessoaJuridicaRequestDTO request) {
         log.info("Completing Pessoa Juridica for user: {}", userId);
+        profileCache.invalidateAfterCommit(userId);
 
-        Profile profile = profileRepository.findByUserId(userId)
+        ProfileAggregate aggregate = profileRepository.findAggregateByUserId(userId)
                 .orElseThrow(() -> new BadRequestException("Perfil não encontrado"));
+        Profile profile = aggregate.profile();
 
         if (!profile.isPessoaJuridica()) {
             throw new BadRequestException("Perfil não é do tipo Pessoa Jurídica");
         }
 
-        String cnpjDigits = request.getCnpj().replaceAll("\\D", "");
-        documentValidationService.validateCnpj(cnpjDigits);
+        documentValidationService.validateCnpj(request.getCnpj());
 
-        PessoaJuridica pessoaJuridica = pessoaJuridicaRepository.findByProfileId(profile.getId()).orElse(null);
+        PessoaJuridica pessoaJuridica = aggregate.pessoaJuridica();
 
         if (pessoaJuridica == null || !request.getCnpj().equals(pessoaJuridica.getCnpj())) {
             if (pessoaJuridicaRepository.existsByCnpj(request.getCnpj())) {
@@ -157,13 +164,13 @@ public class ProfileService {
             }
         }
 
-        // ✅ valida IDs
-        pessoaJuridicaLookupsService.requirePorteAtivo(request.getPorteEmpresaId());
-        pessoaJuridicaLookupsService.requireNaturezaAtiva(request.getNaturezaJuridicaId());
-        pessoaJuridicaLookupsService.requireAtividadeItemAtivo(request.getAtividadeItemId());
+        // ✅ valida IDs (foto em memória; os registros já servem para a resposta)
+        PessoaJuridicaPorteEmpresa porte = pessoaJuridicaLookupsService.requirePorteAtivo(request.getPorteEmpresaId());
+        PessoaJuridicaNaturezaJuridica natureza = pessoaJuridicaLookupsService.requireNaturezaAtiva(request.getNaturezaJuridicaId());
+        PessoaJuridicaAtividadeItem atvItem = pessoaJuridicaLookupsService.requireAtividadeItemAtivo(request.getAtividadeItemId());
 
         if (profile.getSlug() == null || profile.getSlug().isBlank()) {
-            profile.setSlug(slugService.generateUniqueSlug(request.getRazaoSocial()));
+            profile.setSlug(slugAllocator.allocate(SlugReservation.Scope.PROFILE, request.getRazaoSocial()));
             profileRepository.save(profile);
         }
 
@@ -189,8 +196,9 @@ public class ProfileService {
         pessoaJuridica.setNomeResponsavel(request.getNomeResponsavel());
         pessoaJuridica.setEmailResponsavel(request.getEmailResponsavel());
 
-        pessoaJuridicaRepository.save(pessoaJuridica);
-        return buildProfileResponse(profile);
+        pessoaJuridica = pessoaJuridicaRepository.save(pessoaJuridica);
+        return buildProfileResponse(aggregate.withPessoaJuridica(
+                pessoaJuridica, porte, natureza, atvItem, resolveAtividadeCategoria(atvItem)));
     }
 
     /**
@@ -199,20 +207,23 @@ public class ProfileService {
     @Transactional
     public ProfileResponseDTO completeAddress(String userId, CompleteAddressRequestDTO request) {
         log.info("Completing address for user: {}", userId);
+        profileCache.invalidateAfterCommit(userId);
 
-        Profile profile = profileRepository.findByUserId(userId)
+        ProfileAggregate aggregate = profileRepository.findAggregateByUserId(userId)
                 .orElseThrow(() -> new BadRequestException("Perfil não encontrado"));
+        Profile profile = aggregate.profile();
 
         boolean hasPessoaData = profile.isPessoaFisica()
-                ? pessoaFisicaRepository.findByProfileId(profile.getId()).isPresent()
-                : pessoaJuridicaRepository.findByProfileId(profile.getId()).isPresent();
+                ? aggregate.pessoaFisica() != null
+                : aggregate.pessoaJuridica() != null;
 
         if (!hasPessoaData) {
             throw new BadRequestException("Complete os dados pessoais antes de adicionar endereço");
         }
 
-        Address address = addressRepository.findByProfileId(profile.getId())
-                .orElseGet(() -> Address.builder().profileId(profile.getId()).build());
+        Address address = aggregate.address() != null
+                ? aggregate.address()
+                : Address.builder().profileId(profile.getId()).build();
 
         address.setCep(request.getCep());
         address.setLogradouro(request.getLogradouro());
@@ -223,28 +234,47 @@ public class ProfileService {
         address.setEstado(request.getEstado());
         address.setPais(request.getPais());
 
-        addressRepository.save(address);
+        address = addressRepository.save(address);
 
         if (!Boolean.TRUE.equals(profile.getIsCompleted())) {
             profile.setIsCompleted(true);
             profileRepository.save(profile);
         }
 
-        return buildProfileResponse(profile);
+        return buildProfileResponse(aggregate.withAddress(address));
     }
 
+    /**
+     * ✅ Read-through no ProfileCache (invalidado após o commit de cada etapa do wizard)
+     */
     public Optional<ProfileResponseDTO> getMyProfile(String userId) {
-        log.info("Getting profile for user: {}", userId);
+        log.debug("Getting profile for user: {}", userId);
 
-        return profileRepository.findByUserId(userId)
-                .map(this::buildProfileResponse);
+        return profileCache.get(userId, id -> profileRepository.findAggregateByUserId(id)
+                .map(this::buildProfileResponse));
     }
 
     public ViaCepResponseDTO consultarCep(String cep) {
         return viaCepService.consultarCep(cep);
     }
 
-    private ProfileResponseDTO buildProfileResponse(Profile profile) {
+    /**
+     * Categoria da atividade escolhida: da foto em memória; só vai ao banco se a categoria estiver inativa
+     */
+    private PessoaJuridicaAtividadeCategoria resolveAtividadeCategoria(PessoaJuridicaAtividadeItem atvItem) {
+        if (atvItem == null || atvItem.getCategoryId() == null) return null;
+
+        PessoaJuridicaAtividadeCategoria categoria = pessoaJuridicaLookupsService.snapshot()
+                .atividadeCategoriaAtiva(atvItem.getCategoryId());
+        return categoria != null ? categoria : pjAtvCatRepo.findById(atvItem.getCategoryId()).orElse(null);
+    }
+
+    /**
+     * ✅ Monta a resposta só com o que já está carregado (nenhuma consulta extra)
+     */
+    private ProfileResponseDTO buildProfileResponse(ProfileAggregate aggregate) {
+        Profile profile = aggregate.profile();
+
         ProfileResponseDTO response = ProfileResponseDTO.builder()
                 .id(profile.getId())
                 .userId(profile.getUserId())
@@ -254,40 +284,23 @@ public class ProfileService {
                 .isCompleted(profile.getIsCompleted())
                 .build();
 
-        if (profile.isPessoaFisica()) {
-            pessoaFisicaRepository.findByProfileId(profile.getId())
-                    .ifPresent(pf -> response.setPessoaFisica(ProfileResponseDTO.PessoaFisicaDTO.fromEntity(pf)));
+        if (profile.isPessoaFisica() && aggregate.pessoaFisica() != null) {
+            response.setPessoaFisica(ProfileResponseDTO.PessoaFisicaDTO.fromEntity(aggregate.pessoaFisica()));
         }
 
-        if (profile.isPessoaJuridica()) {
-            pessoaJuridicaRepository.findByProfileId(profile.getId()).ifPresent(pj -> {
-
-                PessoaJuridicaPorteEmpresa porte = null;
-                PessoaJuridicaNaturezaJuridica natureza = null;
-                PessoaJuridicaAtividadeItem atvItem = null;
-                PessoaJuridicaAtividadeCategoria atvCat = null;
-
-                if (pj.getPorteEmpresaId() != null) {
-                    porte = pjPorteRepo.findById(pj.getPorteEmpresaId()).orElse(null);
-                }
-                if (pj.getNaturezaJuridicaId() != null) {
-                    natureza = pjNaturezaRepo.findById(pj.getNaturezaJuridicaId()).orElse(null);
-                }
-                if (pj.getAtividadeItemId() != null) {
-                    atvItem = pjAtvItemRepo.findById(pj.getAtividadeItemId()).orElse(null);
-                    if (atvItem != null && atvItem.getCategoryId() != null) {
-                        atvCat = pjAtvCatRepo.findById(atvItem.getCategoryId()).orElse(null);
-                    }
-                }
-
-                response.setPessoaJuridica(
-                        ProfileResponseDTO.PessoaJuridicaDTO.fromEntity(pj, porte, natureza, atvCat, atvItem)
-                );
-            });
+        if (profile.isPessoaJuridica() && aggregate.pessoaJuridica() != null) {
+            response.setPessoaJuridica(ProfileResponseDTO.PessoaJuridicaDTO.fromEntity(
+                    aggregate.pessoaJuridica(),
+                    aggregate.porteEmpresa(),
+                    aggregate.naturezaJuridica(),
+                    aggregate.atividadeCategoria(),
+                    aggregate.atividadeItem()
+            ));
         }
 
-        addressRepository.findByProfileId(profile.getId())
-                .ifPresent(addr -> response.setAddress(ProfileResponseDTO.AddressDTO.fromEntity(addr)));
+        if (aggregate.address() != null) {
+            response.setAddress(ProfileResponseDTO.AddressDTO.fromEntity(aggregate.address()));
+        }
 
         return response;
     }
@@ -1,42 +1,184 @@
 package com.moneylegal.profile.service;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.moneylegal.profile.cep.CepIndexLoader;
 import com.moneylegal.profile.dto.ViaCepResponseDTO;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta de CEP: índice local (CepIndexLoader) primeiro, ViaCEP só quando o CEP não está nele
+ *
+ * - Cache LRU+TTL (Caffeine) das respostas; "CEP não encontrado" também fica em cache (TTL menor)
+ * - Consultas simultâneas do mesmo CEP compartilham uma única chamada HTTP em andamento
+ * - Erros (timeout, 5xx) não ficam em cache: a próxima consulta tenta de novo
+ * - O DTO em cache nunca sai daqui: cada chamador recebe uma cópia
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class ViaCepService {
     
-    private static final String VIACEP_URL = "https://viacep.com.br/ws/{cep}/json/";
+    private static final String VIACEP_PATH = "/ws/{cep}/json/";
     
     private final RestTemplate restTemplate;
+    private final CepIndexLoader cepIndex;
+    private final MeterRegistry meterRegistry;
+    private final AsyncCache<String, CepLookup> cache;
+    
+    public ViaCepService(
+            RestTemplate viaCepRestTemplate,
+            CepIndexLoader cepIndex,
+            MeterRegistry meterRegistry,
+            @Value("${viacep.cache.max-size:50000}") long maxSize,
+            @Value("${viacep.cache.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${viacep.cache.negative-ttl-minutes:10}") long negativeTtlMinutes
+    ) {
+        this.restTemplate = viaCepRestTemplate;
+        this.cepIndex = cepIndex;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new FoundOrNotFoundExpiry(
+                        TimeUnit.MINUTES.toNanos(ttlMinutes),
+                        TimeUnit.MINUTES.toNanos(negativeTtlMinutes)))
+                .recordStats()
+                .buildAsync();
+        
+        log.info("[VIACEP] Cache: maxSize={}, ttl={}min, negativeTtl={}min", maxSize, ttlMinutes, negativeTtlMinutes);
+    }
     
     public ViaCepResponseDTO consultarCep(String cep) {
         try {
             String cepLimpo = cep.replaceAll("\\D", "");
+            if (cepLimpo.length() != 8) {
+                throw new RuntimeException("CEP deve conter 8 dígitos");
+            }
             
-            log.info("Consultando CEP: {}", cepLimpo);
-            
-            ViaCepResponseDTO response = restTemplate.getForObject(
-                    VIACEP_URL,
-                    ViaCepResponseDTO.class,
-                    cepLimpo
-            );
+            ViaCepResponseDTO local = cepIndex.find(cepLimpo);
+            if (local != null) {
+                return local;
+            }
             
-            if (response != null && Boolean.TRUE.equals(response.getErro())) {
+            CepLookup lookup = lookup(cepLimpo);
+            if (lookup.response() == null) {
                 throw new RuntimeException("CEP não encontrado");
             }
-            
-            log.info("CEP consultado com sucesso: {}", cepLimpo);
-            return response;
+            // cópia: o DTO é mutável e o mesmo objeto atende todas as consultas do CEP
+            return lookup.response().toBuilder().build();
             
         } catch (Exception e) {
             log.error("Erro ao consultar CEP: {}", cep, e);
             throw new RuntimeException("Erro ao consultar CEP: " + e.getMessage());
         }
     }
+    
+    public CacheStats cacheStats() {
+        return cache.synchronous().stats();
+    }
+    
+    public long cacheSize() {
+        return cache.synchronous().estimatedSize();
+    }
+    
+    /**
+     * Tempo restante da entrada do CEP no cache (vazio se não estiver em cache)
+     */
+    Optional<Duration> cacheExpiresAfter(String cep) {
+        return cache.synchronous().policy().expireVariably()
+                .flatMap(policy -> policy.getExpiresAfter(cep));
+    }
+    
+    /**
+     * Quem insere o future faz a chamada na própria thread; os demais aguardam o mesmo future
+     */
+    private CepLookup lookup(String cep) {
+        CompletableFuture<CepLookup> pending = new CompletableFuture<>();
+        CompletableFuture<CepLookup> future = cache.get(cep, (key, executor) -> pending);
+        if (future != pending) {
+            return join(future);
+        }
+        
+        try {
+            pending.complete(fetch(cep));
+        } catch (RuntimeException e) {
+            // future com exceção é removido do cache pelo Caffeine
+            pending.completeExceptionally(e);
+        }
+        return join(pending);
+    }
+    
+    private CepLookup fetch(String cep) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            log.info("Consultando CEP: {}", cep);
+            
+            ViaCepResponseDTO response = restTemplate.getForObject(
+                    VIACEP_PATH,
+                    ViaCepResponseDTO.class,
+                    cep
+            );
+            
+            if (response == null || Boolean.TRUE.equals(response.getErro())) {
+                outcome = "not_found";
+                return CepLookup.NOT_FOUND;
+            }
+            
+            outcome = "found";
+            log.info("CEP consultado com sucesso: {}", cep);
+            return new CepLookup(response);
+        } finally {
+            sample.stop(Timer.builder("moneylegal.viacep.requests")
+                    .description("Chamadas HTTP ao ViaCEP")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+    
+    private static CepLookup join(CompletableFuture<CepLookup> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+    
+    /**
+     * response == null representa "CEP não encontrado" (cache negativo)
+     */
+    private record CepLookup(ViaCepResponseDTO response) {
+        static final CepLookup NOT_FOUND = new CepLookup(null);
+    }
+    
+    private record FoundOrNotFoundExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<String, CepLookup> {
+        
+        @Override
+        public long expireAfterCreate(String key, CepLookup value, long currentTime) {
+            return value.response() != null ? ttlNanos : negativeTtlNanos;
+        }
+        
+        @Override
+        public long expireAfterUpdate(String key, CepLookup value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String key, CepLookup value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package com.moneylegal.security;
+
+import com.moneylegal.auth.entity.User;
+import com.moneylegal.tenant.entity.TenantMember;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal autenticado montado a partir das claims do access token.
+ *
+ * Carrega tudo que o filtro precisa (ativo, authorities, tenant/role padrão e época do token),
+ * evitando consultar a tabela users a cada request.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class AuthenticatedUser implements UserDetails {
+
+    public static final String DEFAULT_AUTHORITY = "ROLE_USER";
+
+    private final String userId;
+    private final boolean active;
+    private final List<GrantedAuthority> authorities;
+    private final String defaultTenantId;
+    private final String defaultTenantRole;
+    private final int tokenEpoch;
+
+    /**
+     * Factory method (login / refresh / register)
+     */
+    public static AuthenticatedUser of(User user, TenantMember defaultMembership) {
+        return AuthenticatedUser.builder()
+                .userId(user.getId())
+                .active(Boolean.TRUE.equals(user.getIsActive()))
+                .authorities(List.of(new SimpleGrantedAuthority(DEFAULT_AUTHORITY)))
+                .defaultTenantId(defaultMembership != null ? defaultMembership.getTenantId() : null)
+                .defaultTenantRole(defaultMembership != null ? defaultMembership.getRole().name() : null)
+                .tokenEpoch(user.getTokenEpoch() != null ? user.getTokenEpoch() : 0)
+                .build();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null; // stateless: credenciais nunca ficam no principal
+    }
+
+    @Override
+    public String getUsername() {
+        return userId;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return active;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return active;
+    }
+}
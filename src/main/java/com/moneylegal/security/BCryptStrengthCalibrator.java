@@ -0,0 +1,43 @@
+package com.moneylegal.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Calibra o custo (work factor) do BCrypt no hardware atual.
+ *
+ * Mede o tempo de hash no custo mínimo e extrapola (cada +1 dobra o tempo),
+ * escolhendo o maior custo que fica dentro do tempo-alvo.
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibracao-Senha#2024";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(long targetMs, int minStrength, int maxStrength) {
+        // aquecimento (JIT)
+        BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(minStrength));
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(minStrength));
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double baseMs = Math.max(best / 1_000_000.0, 0.001);
+        int strength = minStrength;
+        while (strength < maxStrength && baseMs * (1L << (strength + 1 - minStrength)) <= targetMs) {
+            strength++;
+        }
+
+        log.info("[HASH] BCrypt calibrado: custo={} (~{}ms por hash; custo {} = {}ms, alvo {}ms)",
+                strength, Math.round(baseMs * (1L << (strength - minStrength))),
+                minStrength, String.format("%.1f", baseMs), targetMs);
+        return strength;
+    }
+}
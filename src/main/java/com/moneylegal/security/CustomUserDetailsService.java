@@ -2,6 +2,7 @@ package com.moneylegal.security;
 
 import com.moneylegal.auth.entity.User;
 import com.moneylegal.auth.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
@@ -15,6 +16,7 @@ public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
 
     @Override
+    @Timed(value = "moneylegal.security.user.load", description = "Carga do usuário para o Spring Security")
     public UserDetails loadUserByUsername(String userId) throws UsernameNotFoundException {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userId));
@@ -1,5 +1,6 @@
 package com.moneylegal.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +24,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenEpochRegistry tokenEpochRegistry;
     private final UserDetailsService userDetailsService;
     private final RestAuthenticationEntryPoint restAuthenticationEntryPoint;
 
@@ -37,11 +39,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             if (StringUtils.hasText(jwt)) {
-                jwtTokenProvider.validateOrThrow(jwt);
+                // valida e extrai as claims num único parse (ou cache hit)
+                Claims claims = jwtTokenProvider.validateAndGetClaims(jwt);
 
-                String userId = jwtTokenProvider.getUserIdFromToken(jwt);
+                String userId = claims.getSubject();
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userId);
+                UserDetails userDetails = resolvePrincipal(userId, claims);
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
@@ -73,6 +76,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * Monta o principal direto das claims (sem banco) e aplica a revogação por época.
+     * Tokens legados, sem as claims do principal, ainda caem no UserDetailsService.
+     */
+    private UserDetails resolvePrincipal(String userId, Claims claims) {
+        AuthenticatedUser principal = jwtTokenProvider.toPrincipal(claims);
+
+        if (principal == null) {
+            return userDetailsService.loadUserByUsername(userId);
+        }
+
+        if (tokenEpochRegistry.isRevoked(userId, principal.getTokenEpoch())) {
+            throw new JwtAuthenticationException(JwtErrorType.REVOKED, "Token revogado.", null);
+        }
+
+        return principal;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -6,5 +6,6 @@ public enum JwtErrorType {
     MALFORMED,
     UNSUPPORTED,
     EMPTY,
+    REVOKED,
     UNKNOWN
 }
@@ -3,66 +3,165 @@ package com.moneylegal.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
+    // Claims do principal (permitem autenticar sem consultar o banco)
+    public static final String CLAIM_ACTIVE = "active";
+    public static final String CLAIM_AUTHORITIES = "authorities";
+    public static final String CLAIM_TENANT_ID = "tenant_id";
+    public static final String CLAIM_TENANT_ROLE = "tenant_role";
+    public static final String CLAIM_EPOCH = "epoch";
+
     private final SecretKey secretKey;
+    private final JwtParser parser; // imutável e thread-safe: montado uma única vez
+    private final VerifiedTokenCache verifiedTokenCache;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
 
+    // moneylegal.jwt.verification{result=cached|verified|invalid}
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer invalidTimer;
+
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration:900000}") long accessTokenExpiration
+            @Value("${jwt.expiration:900000}") long accessTokenExpiration,
+            VerifiedTokenCache verifiedTokenCache,
+            MeterRegistry meterRegistry
     ) {
         byte[] keyBytes = Decoders.BASE64.decode(secret);
         this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
+        this.verifiedTokenCache = verifiedTokenCache;
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = 7 * 24 * 60 * 60 * 1000L;
+        this.cachedTimer = verificationTimer(meterRegistry, "cached");
+        this.verifiedTimer = verificationTimer(meterRegistry, "verified");
+        this.invalidTimer = verificationTimer(meterRegistry, "invalid");
     }
 
-    public String generateAccessToken(String userId) {
+    public String generateAccessToken(AuthenticatedUser principal) {
+        String userId = principal.getUsername();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + accessTokenExpiration);
 
+        List<String> authorities = principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
         String token = Jwts.builder()
                 .subject(userId)
+                .claim(CLAIM_ACTIVE, principal.isActive())
+                .claim(CLAIM_AUTHORITIES, authorities)
+                .claim(CLAIM_TENANT_ID, principal.getDefaultTenantId())
+                .claim(CLAIM_TENANT_ROLE, principal.getDefaultTenantRole())
+                .claim(CLAIM_EPOCH, principal.getTokenEpoch())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(secretKey, Jwts.SIG.HS512)
                 .compact();
 
-        log.info("[JWT] AccessToken gerado para userId={}", userId);
-        log.info("[JWT] Token={}", token);
-        log.info("[JWT] Expira em={}", expiryDate);
+        // ✅ nunca logar o token: só o subject e a expiração
+        log.info("[JWT] AccessToken gerado para userId={}, expira em={}", userId, expiryDate);
 
         return token;
     }
 
 
+    /**
+     * Monta o principal a partir das claims.
+     * Retorna null para tokens legados (emitidos antes das claims do principal).
+     */
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        Integer epoch = claims.get(CLAIM_EPOCH, Integer.class);
+        if (epoch == null) {
+            return null;
+        }
+
+        List<?> rawAuthorities = claims.get(CLAIM_AUTHORITIES, List.class);
+        List<GrantedAuthority> authorities = rawAuthorities == null
+                ? List.of(new SimpleGrantedAuthority(AuthenticatedUser.DEFAULT_AUTHORITY))
+                : rawAuthorities.stream()
+                        .map(a -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(a)))
+                        .toList();
+
+        return AuthenticatedUser.builder()
+                .userId(claims.getSubject())
+                .active(Boolean.TRUE.equals(claims.get(CLAIM_ACTIVE, Boolean.class)))
+                .authorities(authorities)
+                .defaultTenantId(claims.get(CLAIM_TENANT_ID, String.class))
+                .defaultTenantRole(claims.get(CLAIM_TENANT_ROLE, String.class))
+                .tokenEpoch(epoch)
+                .build();
+    }
+
+    public long getAccessTokenExpiration() {
+        return accessTokenExpiration;
+    }
+
     public String generateRefreshToken() {
         return UUID.randomUUID().toString();
     }
 
-    // ✅ NOVO: valida e lança exceção tipada (expired vs invalid signature etc)
-    public void validateOrThrow(String token) {
+    /**
+     * Valida o token (uma única verificação de assinatura) e devolve as claims.
+     * Tokens já verificados são servidos pelo {@link VerifiedTokenCache} até o "exp".
+     */
+    public Claims validateAndGetClaims(String token) {
         if (token == null || token.isBlank()) {
             throw new JwtAuthenticationException(JwtErrorType.EMPTY, "Token ausente.", null);
         }
 
+        long start = System.nanoTime();
+        Claims cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            cachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached;
+        }
+
+        Claims claims;
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
+            claims = parseOrThrow(token);
+        } catch (JwtAuthenticationException e) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        verifiedTokenCache.put(token, claims);
+        verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
+    }
+
+    private static Timer verificationTimer(MeterRegistry registry, String result) {
+        return Timer.builder("moneylegal.jwt.verification")
+                .description("Validação de access token (cache ou assinatura HS512)")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    // ✅ NOVO: valida e lança exceção tipada (expired vs invalid signature etc)
+    public void validateOrThrow(String token) {
+        validateAndGetClaims(token);
+    }
+
+    private Claims parseOrThrow(String token) {
+        try {
+            return parser.parseSignedClaims(token).getPayload();
 
         } catch (ExpiredJwtException e) {
             log.warn("JWT expired: {}", e.getMessage());
@@ -98,23 +197,13 @@ public class JwtTokenProvider {
     }
 
     public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
+        return validateAndGetClaims(token).getSubject();
     }
 
     // Mantido: útil em outros pontos
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = parser.parseSignedClaims(token).getPayload();
 
             Date exp = claims.getExpiration();
             return exp != null && exp.before(new Date());
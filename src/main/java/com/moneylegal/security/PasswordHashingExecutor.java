@@ -0,0 +1,182 @@
+package com.moneylegal.security;
+
+import com.moneylegal.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashing de senha (BCrypt) fora das threads do Tomcat.
+ *
+ * - Executor próprio do tamanho dos núcleos, com fila limitada
+ * - Admissão por semáforo (threads + fila): sem vaga em admission-timeout -> 503 com Retry-After.
+ *   O tempo limite vale só para conseguir a vaga; hash admitido não é cancelado no meio
+ * - Uma rajada de credential stuffing não consome todas as threads de CPU de /tenants e /profile
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private static final String OVERLOADED_MESSAGE = "Muitas solicitações no momento. Tente novamente em instantes.";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore admission;
+    private final long admissionTimeoutMs;
+    private final long retryAfterSeconds;
+
+    // métricas (moneylegal.password.hash / moneylegal.password.hash.rejected)
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:0}") int queueCapacity,
+            @Value("${security.password-hashing.admission-timeout-ms:2000}") long admissionTimeoutMs,
+            @Value("${security.password-hashing.retry-after-seconds:2}") long retryAfterSeconds
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int capacity = queueCapacity > 0 ? queueCapacity : poolSize * 4;
+
+        this.passwordEncoder = passwordEncoder;
+        this.admissionTimeoutMs = admissionTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.admission = new Semaphore(poolSize + capacity);
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60, TimeUnit.SECONDS,
+                // limite real = semáforo de admissão (um worker recém-liberado ainda não tirou o próximo da fila)
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.rejected = Counter.builder("moneylegal.password.hash.rejected")
+                .description("Hashes recusados por fila cheia ou tempo de admissão")
+                .register(meterRegistry);
+        Gauge.builder("moneylegal.password.hash.queue", this, PasswordHashingExecutor::queueDepth)
+                .register(meterRegistry);
+        Gauge.builder("moneylegal.password.hash.active", this, PasswordHashingExecutor::activeCount)
+                .register(meterRegistry);
+
+        log.info("[HASH] Executor de senhas: threads={}, fila={}, admissão={}ms", poolSize, capacity, admissionTimeoutMs);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hash abaixo da política atual (sem prefixo de algoritmo ou custo menor)? Barato, não usa o executor.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    public long completedCount() {
+        return encodeTimer.count() + matchesTimer.count();
+    }
+
+    public long rejectedCount() {
+        return (long) rejected.count();
+    }
+
+    public double averageHashMillis() {
+        long count = completedCount();
+        double total = encodeTimer.totalTime(TimeUnit.MILLISECONDS) + matchesTimer.totalTime(TimeUnit.MILLISECONDS);
+        return count == 0 ? 0 : total / count;
+    }
+
+    /**
+     * Maior hash na janela recente do Micrometer (não desde a subida)
+     */
+    public double maxHashMillis() {
+        return Math.max(encodeTimer.max(TimeUnit.MILLISECONDS), matchesTimer.max(TimeUnit.MILLISECONDS));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        try {
+            if (!admission.tryAcquire(admissionTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw overloaded("sem vaga no tempo de admissão");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw overloaded("interrompido");
+        }
+
+        // ✅ admitido: cabe no executor (vagas = threads + fila); espera o hash terminar
+        try {
+            Future<T> future = executor.submit(() -> timer.recordCallable(task));
+            return future.get();
+        } catch (RejectedExecutionException e) {
+            throw overloaded("executor encerrado");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw overloaded("interrompido");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException(cause);
+        } finally {
+            admission.release();
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("moneylegal.password.hash")
+                .description("Tempo de CPU de um hash BCrypt (sem a espera na fila)")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    private ServiceOverloadedException overloaded(String reason) {
+        rejected.increment();
+        log.warn("[HASH] Requisição recusada ({}): fila={}, ativos={}", reason, queueDepth(), activeCount());
+        return new ServiceOverloadedException(OVERLOADED_MESSAGE, retryAfterSeconds);
+    }
+}
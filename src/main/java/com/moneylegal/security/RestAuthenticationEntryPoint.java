@@ -49,6 +49,10 @@ public class RestAuthenticationEntryPoint implements AuthenticationEntryPoint {
                     code = "AUTH_TOKEN_MISSING";
                     message = "Token ausente.";
                 }
+                case REVOKED -> {
+                    code = "AUTH_TOKEN_REVOKED";
+                    message = "Sua sessão foi encerrada. Faça login novamente.";
+                }
                 default -> {
                     code = "AUTH_TOKEN_INVALID";
                     message = "Token inválido.";
@@ -0,0 +1,92 @@
+package com.moneylegal.security;
+
+import com.moneylegal.auth.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabela em memória das épocas de token alteradas recentemente.
+ *
+ * Só precisamos conhecer épocas incrementadas dentro da vida útil de um access token:
+ * tokens emitidos antes disso já expiraram sozinhos. Assim a tabela fica pequena e é
+ * recarregada em background (padrão: a cada 5s), propagando logout-all entre instâncias.
+ *
+ * O refresh mescla (maior época vence) em vez de trocar a tabela: um record() de logout-all
+ * que chegue entre a leitura do banco e a troca não pode ser perdido. Entradas não vistas
+ * (nem no banco nem via record) há mais de uma janela saem da tabela.
+ */
+@Component
+@Slf4j
+public class TokenEpochRegistry {
+
+    private final UserRepository userRepository;
+    private final long windowMs;
+
+    private final Map<String, Epoch> epochs = new ConcurrentHashMap<>();
+
+    public TokenEpochRegistry(
+            UserRepository userRepository,
+            JwtTokenProvider jwtTokenProvider,
+            @Value("${jwt.revocation.window-margin-ms:60000}") long windowMarginMs
+    ) {
+        this.userRepository = userRepository;
+        this.windowMs = jwtTokenProvider.getAccessTokenExpiration() + windowMarginMs;
+    }
+
+    /**
+     * true se o token foi emitido numa época anterior à atual do usuário
+     */
+    public boolean isRevoked(String userId, int tokenEpoch) {
+        Epoch current = epochs.get(userId);
+        return current != null && tokenEpoch < current.value();
+    }
+
+    /**
+     * Registra localmente uma época recém-incrementada (sem esperar o próximo refresh)
+     */
+    public void record(String userId, int epoch) {
+        epochs.merge(userId, new Epoch(epoch, System.currentTimeMillis()), Epoch::max);
+    }
+
+    public int size() {
+        return epochs.size();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:5000}")
+    public void refresh() {
+        try {
+            long now = System.currentTimeMillis();
+            LocalDateTime since = LocalDateTime.now().minus(windowMs, ChronoUnit.MILLIS);
+
+            List<UserRepository.TokenEpochView> changed = userRepository.findTokenEpochsChangedSince(since);
+            for (UserRepository.TokenEpochView view : changed) {
+                epochs.merge(view.getId(), new Epoch(view.getTokenEpoch(), now), Epoch::max);
+            }
+
+            // fora da janela: tokens daquela época já expiraram
+            epochs.values().removeIf(epoch -> epoch.seenAtMs() < now - windowMs);
+            log.debug("[JWT] Épocas de token recarregadas: {} do banco, {} na tabela", changed.size(), epochs.size());
+        } catch (Exception e) {
+            // mantém a última tabela conhecida; próxima execução tenta de novo
+            log.warn("[JWT] Falha ao recarregar épocas de token: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Época conhecida + quando foi vista pela última vez (banco ou record)
+     */
+    private record Epoch(int value, long seenAtMs) {
+
+        static Epoch max(Epoch a, Epoch b) {
+            return new Epoch(Math.max(a.value, b.value), Math.max(a.seenAtMs, b.seenAtMs));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.moneylegal.slug;
+
+import com.moneylegal.exception.ConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Gera slugs únicos para tenants e perfis (register, createTenant, completePessoaFisica/Juridica).
+ *
+ * - Próximo sufixo livre em UMA consulta por prefixo (slug_reservations)
+ * - Reserva na transação do chamador com INSERT IGNORE: sem segunda conexão do pool e sem exceção
+ *   (a transação não fica marcada para rollback); 0 linhas = outro cadastro reservou, tenta o próximo sufixo
+ * - Rollback do chamador desfaz a reserva junto
+ */
+@Component
+@Slf4j
+public class SlugAllocator {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final int SUFFIX_RESERVE = 10; // espaço para "-<sufixo>" dentro do tamanho da coluna
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+    private static final Pattern INVALID_CHARS = Pattern.compile("[^a-z0-9\\s-]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern HYPHENS = Pattern.compile("-+");
+    private static final Pattern EDGE_HYPHENS = Pattern.compile("^-|-$");
+
+    private final SlugReservationRepository slugReservationRepository;
+
+    public SlugAllocator(SlugReservationRepository slugReservationRepository) {
+        this.slugReservationRepository = slugReservationRepository;
+    }
+
+    @Transactional
+    public String allocate(SlugReservation.Scope scope, String text) {
+        String base = toBaseSlug(scope, text);
+        long suffix = slugReservationRepository.findMaxSuffix(scope.name(), base) + 1;
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++, suffix++) {
+            String slug = suffix == 0 ? base : base + "-" + suffix;
+            if (slugReservationRepository.reserve(scope.name(), slug) == 1) {
+                log.debug("Slug {} reservado: {} (base: {})", scope, slug, base);
+                return slug;
+            }
+            log.debug("Slug {} disputado: {} (tentativa {}/{})", scope, slug, attempt, MAX_ATTEMPTS);
+        }
+
+        throw new ConflictException("Não foi possível gerar um identificador único, tente novamente");
+    }
+
+    /**
+     * Remove acentos, caracteres especiais e normaliza hífens
+     */
+    static String toBaseSlug(SlugReservation.Scope scope, String text) {
+        if (text == null || text.isBlank()) {
+            return scope.getFallback();
+        }
+
+        String slug = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        slug = INVALID_CHARS.matcher(slug.toLowerCase(Locale.ROOT).trim()).replaceAll("");
+        slug = WHITESPACE.matcher(slug).replaceAll("-");
+        slug = HYPHENS.matcher(slug).replaceAll("-");
+
+        int maxBaseLength = scope.getMaxLength() - SUFFIX_RESERVE;
+        if (slug.length() > maxBaseLength) {
+            slug = slug.substring(0, maxBaseLength);
+        }
+
+        slug = EDGE_HYPHENS.matcher(slug).replaceAll("");
+        return slug.isEmpty() ? scope.getFallback() : slug;
+    }
+}
@@ -0,0 +1,57 @@
+package com.moneylegal.slug;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entidade SlugReservation - Slug reservado por escopo (tenants / perfis)
+ */
+@Entity
+@Table(name = "slug_reservations")
+@IdClass(SlugReservation.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlugReservation {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Scope scope;
+
+    @Id
+    @Column(nullable = false, length = 255)
+    private String slug;
+
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Escopo do slug: tamanho máximo da coluna de destino e slug padrão para textos vazios
+     */
+    @Getter
+    public enum Scope {
+        TENANT(255, "tenant"),
+        PROFILE(100, "usuario");
+
+        private final int maxLength;
+        private final String fallback;
+
+        Scope(int maxLength, String fallback) {
+            this.maxLength = maxLength;
+            this.fallback = fallback;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Scope scope;
+        private String slug;
+    }
+}
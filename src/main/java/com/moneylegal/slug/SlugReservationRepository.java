@@ -0,0 +1,33 @@
+package com.moneylegal.slug;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository para SlugReservation
+ */
+@Repository
+public interface SlugReservationRepository extends JpaRepository<SlugReservation, SlugReservation.Key> {
+
+    /**
+     * Maior sufixo numérico já reservado para a base, numa única consulta por prefixo:
+     * -1 = base livre | 0 = só a base existe | n = existe "base-n"
+     */
+    @Query(value = "SELECT COALESCE(MAX(CASE WHEN slug = :base THEN 0 " +
+            "ELSE CAST(SUBSTRING(slug, CHAR_LENGTH(:base) + 2) AS SIGNED) END), -1) " +
+            "FROM slug_reservations " +
+            "WHERE scope = :scope " +
+            "AND (slug = :base OR (slug LIKE CONCAT(:base, '-%') " +
+            "AND SUBSTRING(slug, CHAR_LENGTH(:base) + 2) REGEXP '^[0-9]{1,9}$'))", nativeQuery = true)
+    long findMaxSuffix(@Param("scope") String scope, @Param("base") String base);
+
+    /**
+     * Reservar slug: 1 = reservado | 0 = outro cadastro reservou primeiro (PK duplicada ignorada, sem exceção)
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO slug_reservations (scope, slug) VALUES (:scope, :slug)", nativeQuery = true)
+    int reserve(@Param("scope") String scope, @Param("slug") String slug);
+}
@@ -1,8 +1,10 @@
 package com.moneylegal.tenant.entity;
 
+import com.moneylegal.persistence.UuidBinaryType;
+import com.moneylegal.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 
@@ -15,15 +17,17 @@ import java.time.LocalDateTime;
 public class AccessRequest {
 
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
-    @Column(name = "id", updatable = false, nullable = false)
+    @UuidV7
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "BINARY(16)", updatable = false, nullable = false)
     private String id;
 
-    @Column(name = "tenant_id", nullable = false)
+    @Type(UuidBinaryType.class)
+    @Column(name = "tenant_id", columnDefinition = "BINARY(16)", nullable = false)
     private String tenantId;
 
-    @Column(name = "user_id", nullable = false)
+    @Type(UuidBinaryType.class)
+    @Column(name = "user_id", columnDefinition = "BINARY(16)", nullable = false)
     private String userId;
 
     @Column(name = "message", nullable = false, length = 1000)
@@ -1,8 +1,10 @@
 package com.moneylegal.tenant.entity;
 
+import com.moneylegal.persistence.UuidBinaryType;
+import com.moneylegal.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 
@@ -31,12 +33,13 @@ import java.time.LocalDateTime;
 public class Invitation {
 
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "uuid2")
-    @Column(length = 36, nullable = false, updatable = false)
+    @UuidV7
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "BINARY(16)", updatable = false, nullable = false)
     private String id;
 
-    @Column(name = "tenant_id", nullable = false, length = 36)
+    @Type(UuidBinaryType.class)
+    @Column(name = "tenant_id", columnDefinition = "BINARY(16)", nullable = false)
     private String tenantId;
 
     @Column(nullable = false, length = 255)
@@ -50,7 +53,8 @@ public class Invitation {
     @Builder.Default
     private TenantMember.MemberRole role = TenantMember.MemberRole.MEMBER;
 
-    @Column(name = "invited_by", nullable = false, length = 36)
+    @Type(UuidBinaryType.class)
+    @Column(name = "invited_by", columnDefinition = "BINARY(16)", nullable = false)
     private String invitedBy;
 
     @Enumerated(EnumType.STRING)
@@ -71,7 +75,8 @@ public class Invitation {
     @Column(name = "rejected_at")
     private LocalDateTime rejectedAt;
 
-    @Column(name = "accepted_by", length = 36)
+    @Type(UuidBinaryType.class)
+    @Column(name = "accepted_by", columnDefinition = "BINARY(16)")
     private String acceptedBy;
 
     /**
@@ -1,8 +1,10 @@
 package com.moneylegal.tenant.entity;
 
+import com.moneylegal.persistence.UuidBinaryType;
+import com.moneylegal.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -16,9 +18,9 @@ import java.time.LocalDateTime;
 public class Tenant {
 
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
-    @Column(name = "id", updatable = false, nullable = false)
+    @UuidV7
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "BINARY(16)", updatable = false, nullable = false)
     private String id;
 
     @Column(name = "name", nullable = false)
@@ -35,7 +37,8 @@ public class Tenant {
     @Column(name = "plan", nullable = false)
     private TenantPlan plan;
 
-    @Column(name = "owner_id", nullable = false)
+    @Type(UuidBinaryType.class)
+    @Column(name = "owner_id", columnDefinition = "BINARY(16)", nullable = false)
     private String ownerId;
 
     @Column(name = "logo_url")
@@ -1,8 +1,10 @@
 package com.moneylegal.tenant.entity;
 
+import com.moneylegal.persistence.UuidBinaryType;
+import com.moneylegal.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 
@@ -35,15 +37,17 @@ import java.time.LocalDateTime;
 public class TenantMember {
 
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "uuid2")
-    @Column(length = 36, nullable = false, updatable = false)
+    @UuidV7
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "BINARY(16)", updatable = false, nullable = false)
     private String id;
 
-    @Column(name = "tenant_id", nullable = false, length = 36)
+    @Type(UuidBinaryType.class)
+    @Column(name = "tenant_id", columnDefinition = "BINARY(16)", nullable = false)
     private String tenantId;
 
-    @Column(name = "user_id", nullable = false, length = 36)
+    @Type(UuidBinaryType.class)
+    @Column(name = "user_id", columnDefinition = "BINARY(16)", nullable = false)
     private String userId;
 
     @Enumerated(EnumType.STRING)
@@ -51,7 +55,8 @@ public class TenantMember {
     @Builder.Default
     private MemberRole role = MemberRole.MEMBER;
 
-    @Column(name = "invited_by", length = 36)
+    @Type(UuidBinaryType.class)
+    @Column(name = "invited_by", columnDefinition = "BINARY(16)")
     private String invitedBy;
 
     @Column(name = "joined_at", nullable = false)
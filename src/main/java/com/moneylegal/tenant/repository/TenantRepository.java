@@ -16,8 +16,6 @@ public interface TenantRepository extends JpaRepository<Tenant, String> {
     
     Optional<Tenant> findBySlug(String slug);
     
-    boolean existsBySlug(String slug);
-    
     /**
      * Buscar todos os tenants ativos (para listagem pública)
      */
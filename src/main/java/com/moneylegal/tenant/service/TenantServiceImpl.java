@@ -1,9 +1,13 @@
 package com.moneylegal.tenant.service;
 
+import com.moneylegal.config.MetricsConfig;
 import com.moneylegal.exception.*;
+import com.moneylegal.slug.SlugAllocator;
+import com.moneylegal.slug.SlugReservation;
 import com.moneylegal.tenant.dto.*;
 import com.moneylegal.tenant.entity.*;
 import com.moneylegal.tenant.repository.*;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -17,17 +21,19 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 public class TenantServiceImpl implements TenantService {
 
     private final TenantRepository tenantRepository;
     private final TenantMemberRepository memberRepository;
+    private final SlugAllocator slugAllocator;
 
     @Override
     @Transactional
     public TenantResponseDTO createTenant(CreateTenantDTO request, String userId) {
-        String slug = generateSlug(request.getName());
+        String slug = slugAllocator.allocate(SlugReservation.Scope.TENANT, request.getName());
 
         Tenant.TenantType type = Tenant.TenantType.valueOf(request.getType());
         Tenant.TenantPlan plan = (request.getPlan() != null && !request.getPlan().isBlank())
@@ -187,20 +193,6 @@ public class TenantServiceImpl implements TenantService {
                 .collect(Collectors.toList());
     }
 
-    private String generateSlug(String name) {
-        String baseSlug = name.toLowerCase()
-                .replaceAll("[^a-z0-9\\s-]", "")
-                .replaceAll("\\s+", "-")
-                .trim();
-
-        String slug = baseSlug;
-        int counter = 1;
-        while (tenantRepository.existsBySlug(slug)) {
-            slug = baseSlug + "-" + counter++;
-        }
-        return slug;
-    }
-
     private TenantResponseDTO buildResponse(Tenant tenant, TenantMember.MemberRole role) {
         long memberCount = memberRepository.countByTenantIdAndIsActiveTrue(tenant.getId());
 
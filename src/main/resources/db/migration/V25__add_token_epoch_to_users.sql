@@ -0,0 +1,8 @@
+-- V25: Época de tokens por usuário (revogação de access tokens sem consultar o banco por request)
+-- Incrementada em logout-all / reset de senha; tokens com época menor são rejeitados.
+
+ALTER TABLE users
+    ADD COLUMN token_epoch INT NOT NULL DEFAULT 0 COMMENT 'Época atual dos access tokens do usuário',
+    ADD COLUMN token_epoch_updated_at DATETIME(6) NULL COMMENT 'Quando a época foi incrementada pela última vez';
+
+CREATE INDEX idx_users_token_epoch_updated_at ON users(token_epoch_updated_at);
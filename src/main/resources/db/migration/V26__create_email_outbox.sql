@@ -0,0 +1,24 @@
+-- V26: Outbox transacional de emails
+-- Gravado na mesma transação do fluxo de negócio; despachado em background para o SendGrid.
+
+CREATE TABLE email_outbox (
+    id VARCHAR(36) PRIMARY KEY COMMENT 'UUID da mensagem',
+    recipient VARCHAR(255) NOT NULL COMMENT 'Email do destinatário',
+    subject VARCHAR(255) NOT NULL COMMENT 'Assunto',
+    html_body MEDIUMTEXT NOT NULL COMMENT 'Conteúdo HTML já renderizado',
+    category ENUM('PASSWORD_RESET','EMAIL_VERIFICATION_OTP','VERIFICATION','WELCOME') NOT NULL COMMENT 'Tipo do email',
+    priority INT NOT NULL DEFAULT 5 COMMENT 'Menor = mais urgente (OTP = 0)',
+    status ENUM('PENDING','SENDING','SENT','DEAD') NOT NULL DEFAULT 'PENDING' COMMENT 'Estado no outbox',
+    attempts INT NOT NULL DEFAULT 0 COMMENT 'Tentativas de envio realizadas',
+    next_attempt_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) COMMENT 'Próxima tentativa',
+    locked_until DATETIME(6) NULL COMMENT 'Lease do dispatcher enquanto SENDING',
+    last_error VARCHAR(500) NULL COMMENT 'Último erro de envio',
+    created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    sent_at DATETIME(6) NULL,
+
+    INDEX idx_email_outbox_dispatch (status, priority, next_attempt_at),
+    INDEX idx_email_outbox_sent_at (sent_at)
+) ENGINE=InnoDB
+  DEFAULT CHARSET=utf8mb4
+  COLLATE=utf8mb4_unicode_ci
+  COMMENT='Outbox de emails transacionais';
@@ -0,0 +1,11 @@
+-- V27: Email normalizado (lower + trim) indexado para login/check-email/forgot-password
+-- Substitui LOWER(email) = LOWER(:email), que impedia o uso de índice e varria a tabela users.
+-- Coluna gerada (STORED): sempre consistente com users.email em qualquer INSERT/UPDATE.
+
+ALTER TABLE users
+    ADD COLUMN email_normalized VARCHAR(255)
+        CHARACTER SET utf8mb4 COLLATE utf8mb4_bin
+        GENERATED ALWAYS AS (LOWER(TRIM(email))) STORED
+        COMMENT 'Email em minúsculas e sem espaços (busca case-insensitive indexada)';
+
+CREATE UNIQUE INDEX uk_users_email_normalized ON users(email_normalized);
@@ -0,0 +1,21 @@
+-- V28: Reserva de slugs (tenants e perfis)
+-- Cada slug atribuído é reservado aqui antes de ser usado; a PK resolve a corrida entre cadastros simultâneos
+-- e o próximo sufixo livre sai de uma única consulta por prefixo (em vez de um existsBySlug por colisão).
+
+CREATE TABLE slug_reservations (
+    scope ENUM('TENANT','PROFILE') NOT NULL COMMENT 'Tabela dona do slug',
+    slug VARCHAR(255) NOT NULL COMMENT 'Slug reservado',
+    created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+
+    PRIMARY KEY (scope, slug)
+) ENGINE=InnoDB
+  DEFAULT CHARSET=utf8mb4
+  COLLATE=utf8mb4_unicode_ci
+  COMMENT='Slugs reservados por escopo';
+
+-- Backfill: slugs já em uso
+INSERT IGNORE INTO slug_reservations (scope, slug)
+SELECT 'TENANT', slug FROM tenants;
+
+INSERT IGNORE INTO slug_reservations (scope, slug)
+SELECT 'PROFILE', slug FROM profiles WHERE slug IS NOT NULL AND slug <> '';
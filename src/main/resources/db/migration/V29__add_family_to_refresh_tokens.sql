@@ -0,0 +1,15 @@
+-- V29: Famílias de refresh token (rotação atômica + detecção de reuso)
+-- Cada login inicia uma família; cada rotação gera um filho na mesma família.
+-- Reapresentar um token já rotacionado revoga a família inteira.
+
+ALTER TABLE refresh_tokens
+    ADD COLUMN family_id VARCHAR(36) NULL COMMENT 'Família (sessão) do token' AFTER user_id,
+    ADD COLUMN rotated_at DATETIME(6) NULL COMMENT 'Quando foi trocado por um novo token (refresh)' AFTER revoked_at;
+
+-- Tokens existentes: cada um vira sua própria família
+UPDATE refresh_tokens SET family_id = id WHERE family_id IS NULL;
+
+ALTER TABLE refresh_tokens
+    MODIFY COLUMN family_id VARCHAR(36) NOT NULL COMMENT 'Família (sessão) do token';
+
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens(family_id);
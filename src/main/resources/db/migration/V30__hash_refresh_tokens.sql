@@ -0,0 +1,18 @@
+-- V30: Refresh token armazenado como SHA-256 (BINARY(32)) com um único índice único
+-- Antes: token VARCHAR(500) com UNIQUE + idx_refresh_tokens_token redundante (B-tree inchada)
+-- e o token em texto puro no banco.
+
+ALTER TABLE refresh_tokens
+    ADD COLUMN token_hash BINARY(32) NULL COMMENT 'SHA-256 do refresh token' AFTER family_id;
+
+-- Re-hash dos tokens existentes (mesmo SHA-256 dos bytes UTF-8 calculado na aplicação)
+UPDATE refresh_tokens SET token_hash = UNHEX(SHA2(token, 256)) WHERE token_hash IS NULL;
+
+ALTER TABLE refresh_tokens
+    MODIFY COLUMN token_hash BINARY(32) NOT NULL COMMENT 'SHA-256 do refresh token';
+
+CREATE UNIQUE INDEX uk_refresh_tokens_token_hash ON refresh_tokens(token_hash);
+
+-- Remove o texto puro (e com ele o UNIQUE e o idx_refresh_tokens_token)
+ALTER TABLE refresh_tokens DROP INDEX idx_refresh_tokens_token;
+ALTER TABLE refresh_tokens DROP COLUMN token;
@@ -0,0 +1,6 @@
+-- V31: Índice para o expurgo de refresh tokens revogados (RefreshTokenPurgeJob)
+-- Expirados já usam idx_refresh_tokens_expires.
+-- Particionamento por expires_at não é possível aqui: tabelas particionadas no InnoDB
+-- não aceitam FOREIGN KEY (fk_refresh_tokens_user) e todo índice único precisaria incluir expires_at.
+
+CREATE INDEX idx_refresh_tokens_revoked_at ON refresh_tokens(revoked_at);
@@ -0,0 +1,165 @@
+-- V32: Chaves UUID em BINARY(16) (ids novos gerados como UUIDv7, ordenados pelo tempo)
+-- Antes: VARCHAR(36) utf8mb4 (até 144 bytes por chave em cada índice secundário) com UUIDv4 aleatório,
+-- espalhando as inserções pela B-tree clusterizada (page splits).
+-- Os bytes seguem UUID_TO_BIN(uuid) sem swap, iguais aos gravados pela aplicação (UuidBinaryType).
+-- Fora do escopo: tabelas de lookup de PJ (seed com ids fixos em CHAR(36)/ascii).
+--
+-- Passos: remove FKs -> VARBINARY(36) -> UUID_TO_BIN -> BINARY(16) -> recria FKs
+
+-- 1. Foreign keys
+ALTER TABLE tenants DROP FOREIGN KEY fk_tenants_owner;
+ALTER TABLE tenant_members
+    DROP FOREIGN KEY fk_tenant_members_tenant,
+    DROP FOREIGN KEY fk_tenant_members_user,
+    DROP FOREIGN KEY fk_tenant_members_invited_by;
+ALTER TABLE refresh_tokens DROP FOREIGN KEY fk_refresh_tokens_user;
+ALTER TABLE invitations
+    DROP FOREIGN KEY fk_invitations_tenant,
+    DROP FOREIGN KEY fk_invitations_invited_by;
+ALTER TABLE access_requests
+    DROP FOREIGN KEY fk_access_request_tenant,
+    DROP FOREIGN KEY fk_access_request_user;
+ALTER TABLE profiles DROP FOREIGN KEY fk_profile_user;
+ALTER TABLE pessoa_fisica DROP FOREIGN KEY fk_pessoa_fisica_profile;
+ALTER TABLE pessoa_juridica DROP FOREIGN KEY fk_pessoa_juridica_profile;
+ALTER TABLE addresses DROP FOREIGN KEY fk_address_profile;
+
+-- 2. Texto -> binário (mesmos bytes ASCII, sem perda)
+ALTER TABLE users MODIFY COLUMN id VARBINARY(36) NOT NULL;
+ALTER TABLE tenants
+    MODIFY COLUMN id VARBINARY(36) NOT NULL,
+    MODIFY COLUMN owner_id VARBINARY(36) NOT NULL;
+ALTER TABLE tenant_members
+    MODIFY COLUMN id VARBINARY(36) NOT NULL,
+    MODIFY COLUMN tenant_id VARBINARY(36) NOT NULL,
+    MODIFY COLUMN user_id VARBINARY(36) NOT NULL,
+    MODIFY COLUMN invited_by VARBINARY(36) NULL;
+ALTER TABLE refresh_tokens
+    MODIFY COLUMN id VARBINARY(36) NOT NULL,
+    MODIFY COLUMN user_id VARBINARY(36) NOT NULL,
+    MODIFY COLUMN family_id VARBINARY(36) NOT NULL;
+ALTER TABLE invitations
+    MODIFY COLUMN id VARBINARY(36) NOT NULL,
+    MODIFY COLUMN tenant_id VARBINARY(36) NOT NULL,
+    MODIFY COLUMN invited_by VARBINARY(36) NOT NULL,
+    MODIFY COLUMN accepted_by VARBINARY(255) NULL;
+ALTER TABLE access_requests
+    MODIFY COLUMN id VARBINARY(36) NOT NULL,
+    MODIFY COLUMN tenant_id VARBINARY(36) NOT NULL,
+    MODIFY COLUMN user_id VARBINARY(36) NOT NULL;
+ALTER TABLE profiles
+    MODIFY COLUMN id VARBINARY(36) NOT NULL,
+    MODIFY COLUMN user_id VARBINARY(36) NOT NULL;
+ALTER TABLE pessoa_fisica
+    MODIFY COLUMN id VARBINARY(36) NOT NULL,
+    MODIFY COLUMN profile_id VARBINARY(36) NOT NULL;
+ALTER TABLE pessoa_juridica
+    MODIFY COLUMN id VARBINARY(36) NOT NULL,
+    MODIFY COLUMN profile_id VARBINARY(36) NOT NULL;
+ALTER TABLE addresses
+    MODIFY COLUMN id VARBINARY(36) NOT NULL,
+    MODIFY COLUMN profile_id VARBINARY(36) NOT NULL;
+ALTER TABLE email_outbox MODIFY COLUMN id VARBINARY(36) NOT NULL;
+
+-- 3. Conversão dos valores (updated_at = updated_at preserva o ON UPDATE CURRENT_TIMESTAMP)
+UPDATE users SET id = UUID_TO_BIN(id), updated_at = updated_at;
+UPDATE tenants SET id = UUID_TO_BIN(id), owner_id = UUID_TO_BIN(owner_id), updated_at = updated_at;
+UPDATE tenant_members
+SET id = UUID_TO_BIN(id),
+    tenant_id = UUID_TO_BIN(tenant_id),
+    user_id = UUID_TO_BIN(user_id),
+    invited_by = UUID_TO_BIN(invited_by);
+UPDATE refresh_tokens
+SET id = UUID_TO_BIN(id),
+    user_id = UUID_TO_BIN(user_id),
+    family_id = UUID_TO_BIN(family_id);
+-- accepted_by era VARCHAR(255) sem FK: valores que não são UUID viram NULL
+UPDATE invitations
+SET id = UUID_TO_BIN(id),
+    tenant_id = UUID_TO_BIN(tenant_id),
+    invited_by = UUID_TO_BIN(invited_by),
+    accepted_by = IF(IS_UUID(accepted_by), UUID_TO_BIN(accepted_by), NULL);
+UPDATE access_requests
+SET id = UUID_TO_BIN(id),
+    tenant_id = UUID_TO_BIN(tenant_id),
+    user_id = UUID_TO_BIN(user_id),
+    updated_at = updated_at;
+UPDATE profiles SET id = UUID_TO_BIN(id), user_id = UUID_TO_BIN(user_id);
+UPDATE pessoa_fisica SET id = UUID_TO_BIN(id), profile_id = UUID_TO_BIN(profile_id);
+UPDATE pessoa_juridica SET id = UUID_TO_BIN(id), profile_id = UUID_TO_BIN(profile_id);
+UPDATE addresses SET id = UUID_TO_BIN(id), profile_id = UUID_TO_BIN(profile_id);
+UPDATE email_outbox SET id = UUID_TO_BIN(id);
+
+-- 4. Tipo final
+ALTER TABLE users MODIFY COLUMN id BINARY(16) NOT NULL COMMENT 'UUID do usuário (UUIDv7)';
+ALTER TABLE tenants
+    MODIFY COLUMN id BINARY(16) NOT NULL COMMENT 'UUID do tenant (UUIDv7)',
+    MODIFY COLUMN owner_id BINARY(16) NOT NULL COMMENT 'Dono do tenant';
+ALTER TABLE tenant_members
+    MODIFY COLUMN id BINARY(16) NOT NULL COMMENT 'UUID do membership (UUIDv7)',
+    MODIFY COLUMN tenant_id BINARY(16) NOT NULL COMMENT 'Tenant ao qual pertence',
+    MODIFY COLUMN user_id BINARY(16) NOT NULL COMMENT 'Usuário membro',
+    MODIFY COLUMN invited_by BINARY(16) NULL COMMENT 'Quem convidou';
+ALTER TABLE refresh_tokens
+    MODIFY COLUMN id BINARY(16) NOT NULL COMMENT 'UUID do token (UUIDv7)',
+    MODIFY COLUMN user_id BINARY(16) NOT NULL COMMENT 'Usuário dono do token',
+    MODIFY COLUMN family_id BINARY(16) NOT NULL COMMENT 'Família (sessão) do token';
+ALTER TABLE invitations
+    MODIFY COLUMN id BINARY(16) NOT NULL COMMENT 'UUID do convite (UUIDv7)',
+    MODIFY COLUMN tenant_id BINARY(16) NOT NULL COMMENT 'Tenant que está convidando',
+    MODIFY COLUMN invited_by BINARY(16) NOT NULL COMMENT 'Quem enviou o convite',
+    MODIFY COLUMN accepted_by BINARY(16) NULL COMMENT 'Usuário que aceitou o convite';
+ALTER TABLE access_requests
+    MODIFY COLUMN id BINARY(16) NOT NULL COMMENT 'UUID da solicitação (UUIDv7)',
+    MODIFY COLUMN tenant_id BINARY(16) NOT NULL,
+    MODIFY COLUMN user_id BINARY(16) NOT NULL;
+ALTER TABLE profiles
+    MODIFY COLUMN id BINARY(16) NOT NULL COMMENT 'UUID do perfil (UUIDv7)',
+    MODIFY COLUMN user_id BINARY(16) NOT NULL;
+ALTER TABLE pessoa_fisica
+    MODIFY COLUMN id BINARY(16) NOT NULL,
+    MODIFY COLUMN profile_id BINARY(16) NOT NULL;
+ALTER TABLE pessoa_juridica
+    MODIFY COLUMN id BINARY(16) NOT NULL,
+    MODIFY COLUMN profile_id BINARY(16) NOT NULL;
+ALTER TABLE addresses
+    MODIFY COLUMN id BINARY(16) NOT NULL,
+    MODIFY COLUMN profile_id BINARY(16) NOT NULL;
+ALTER TABLE email_outbox MODIFY COLUMN id BINARY(16) NOT NULL COMMENT 'UUID da mensagem (UUIDv7)';
+
+-- 5. Foreign keys (mesmos nomes e regras)
+ALTER TABLE tenants
+    ADD CONSTRAINT fk_tenants_owner FOREIGN KEY (owner_id)
+        REFERENCES users(id) ON DELETE RESTRICT;
+ALTER TABLE tenant_members
+    ADD CONSTRAINT fk_tenant_members_tenant FOREIGN KEY (tenant_id)
+        REFERENCES tenants(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_tenant_members_user FOREIGN KEY (user_id)
+        REFERENCES users(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_tenant_members_invited_by FOREIGN KEY (invited_by)
+        REFERENCES users(id);
+ALTER TABLE refresh_tokens
+    ADD CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id)
+        REFERENCES users(id) ON DELETE CASCADE;
+ALTER TABLE invitations
+    ADD CONSTRAINT fk_invitations_tenant FOREIGN KEY (tenant_id)
+        REFERENCES tenants(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_invitations_invited_by FOREIGN KEY (invited_by)
+        REFERENCES users(id) ON DELETE CASCADE;
+ALTER TABLE access_requests
+    ADD CONSTRAINT fk_access_request_tenant FOREIGN KEY (tenant_id)
+        REFERENCES tenants(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_access_request_user FOREIGN KEY (user_id)
+        REFERENCES users(id) ON DELETE CASCADE;
+ALTER TABLE profiles
+    ADD CONSTRAINT fk_profile_user FOREIGN KEY (user_id)
+        REFERENCES users(id) ON DELETE CASCADE;
+ALTER TABLE pessoa_fisica
+    ADD CONSTRAINT fk_pessoa_fisica_profile FOREIGN KEY (profile_id)
+        REFERENCES profiles(id) ON DELETE CASCADE;
+ALTER TABLE pessoa_juridica
+    ADD CONSTRAINT fk_pessoa_juridica_profile FOREIGN KEY (profile_id)
+        REFERENCES profiles(id) ON DELETE CASCADE;
+ALTER TABLE addresses
+    ADD CONSTRAINT fk_address_profile FOREIGN KEY (profile_id)
+        REFERENCES profiles(id) ON DELETE CASCADE;
@@ -0,0 +1,5 @@
+-- V33: Remove o índice de revoked_at (V31)
+-- O expurgo agora só apaga tokens expirados (expires_at): revogados/rotacionados precisam ficar até
+-- o próprio expires_at para a detecção de reuso (AuthServiceImpl.detectReuse) continuar funcionando.
+
+DROP INDEX idx_refresh_tokens_revoked_at ON refresh_tokens;
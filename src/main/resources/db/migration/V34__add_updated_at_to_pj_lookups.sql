@@ -0,0 +1,15 @@
+-- V34: updated_at nos lookups de PJ
+-- O PessoaJuridicaLookupsService compara COUNT(*) + MAX(updated_at) das 4 tabelas a cada ciclo
+-- e só relê/reserializa a foto quando algo mudou (ON UPDATE cobre alterações de label, ícone, is_active...).
+
+ALTER TABLE pessoa_juridica_porte_empresa
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+ALTER TABLE pessoa_juridica_natureza_juridica
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+ALTER TABLE pessoa_juridica_atividade_categoria
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+ALTER TABLE pessoa_juridica_atividade_item
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
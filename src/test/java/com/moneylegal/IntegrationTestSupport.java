@@ -0,0 +1,46 @@
+package com.moneylegal;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base dos testes de integração: aplicação inteira contra MySQL 8 (Testcontainers).
+ *
+ * - SQL nativo e migrations Flyway são específicos do MySQL, por isso não há H2
+ * - Um único container para todas as classes (o contexto do Spring fica em cache entre elas)
+ * - Sem Docker as classes são ignoradas
+ */
+@SpringBootTest(properties = {
+        "server.port=0",
+        "SERVER_DEV_FRONT=http://localhost:3000",
+        "management.server.port=-1",
+        "jwt.secret=c7+GlCILCxVriLwkFdx6cqDiEzNEaeCw6sQW5jYeK1cAOiuQ+ixOv7p4pPSOXIY32CEECxP1D2rJKXgon2hHXw==",
+        "sendgrid.api-key=SG.test",
+        "sendgrid.from-email=noreply@moneylegal.test",
+        "sendgrid.from-name=Money Legal",
+        "sendgrid.host=localhost:9",   // outbox sem chamadas externas (porta local fechada)
+        "email.outbox.poll-interval-ms=3600000",   // outbox só despachado quando o teste chama dispatch()
+        "security.password-hashing.bcrypt.strength=10"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class IntegrationTestSupport {
+
+    // iniciado na primeira classe que roda; o Ryuk do Testcontainers remove no fim da JVM
+    protected static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    static {
+        MYSQL.start();
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+}
@@ -0,0 +1,41 @@
+package com.moneylegal.auth.controller;
+
+import com.moneylegal.IntegrationTestSupport;
+import com.moneylegal.auth.dto.RegisterRequest;
+import com.moneylegal.auth.service.AuthService;
+import com.moneylegal.persistence.QueryAssertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Login = 1 SELECT (usuário + membership + tenant) + INSERT do refresh token + UPDATE do limite de sessões.
+ */
+class AuthControllerLoginQueriesTest extends IntegrationTestSupport {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Test
+    void login_runsThreeStatements() throws Exception {
+        authService.register(RegisterRequest.builder()
+                .name("Maria Teste")
+                .email("maria.login@moneylegal.test")
+                .password("senha-segura-123")
+                .build());
+
+        QueryAssertions.maxQueries(3, () -> mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"maria.login@moneylegal.test\",\"password\":\"senha-segura-123\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").isNotEmpty()));
+    }
+}
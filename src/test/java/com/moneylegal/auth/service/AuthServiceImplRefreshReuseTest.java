@@ -0,0 +1,97 @@
+package com.moneylegal.auth.service;
+
+import com.moneylegal.auth.dto.RefreshTokenRequest;
+import com.moneylegal.auth.entity.RefreshToken;
+import com.moneylegal.auth.repository.RefreshTokenRepository;
+import com.moneylegal.exception.UnauthorizedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Decisão de reuso do refresh token (sem banco). O comportamento transacional e a corrida
+ * ficam em AuthServiceRefreshTokenTest.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthServiceImplRefreshReuseTest {
+
+    private static final String TOKEN = "refresh-token";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private AuthServiceImpl authService;
+
+    @Test
+    void rotatedTokenReusedAfterGraceWindow_revokesFamily() {
+        lostClaim(rotatedToken(LocalDateTime.now().minusMinutes(1)));
+
+        assertThatThrownBy(() -> authService.refreshToken(request()))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+    }
+
+    @Test
+    void rotatedTokenReusedWithinGraceWindow_keepsFamily() {
+        lostClaim(rotatedToken(LocalDateTime.now().minusSeconds(1)));
+
+        assertThatThrownBy(() -> authService.refreshToken(request()))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    void loggedOutToken_isRejectedWithoutRevokingFamily() {
+        RefreshToken loggedOut = rotatedToken(null);
+        loggedOut.revoke();
+        lostClaim(loggedOut);
+
+        assertThatThrownBy(() -> authService.refreshToken(request()))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    void familyRevocation_isNotRolledBackByTheUnauthorizedException() throws Exception {
+        Transactional transactional = AuthServiceImpl.class
+                .getMethod("refreshToken", RefreshTokenRequest.class)
+                .getAnnotation(Transactional.class);
+
+        assertThat(transactional.noRollbackFor()).contains(UnauthorizedException.class);
+    }
+
+    private void lostClaim(RefreshToken stored) {
+        when(refreshTokenRepository.claimForRotation(any(), any())).thenReturn(0);
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.of(stored));
+    }
+
+    private static RefreshToken rotatedToken(LocalDateTime rotatedAt) {
+        RefreshToken token = RefreshToken.create("user-1", "family-1", TOKEN, 7);
+        token.setRevoked(rotatedAt != null);
+        token.setRotatedAt(rotatedAt);
+        return token;
+    }
+
+    private static RefreshTokenRequest request() {
+        return RefreshTokenRequest.builder().refreshToken(TOKEN).build();
+    }
+}
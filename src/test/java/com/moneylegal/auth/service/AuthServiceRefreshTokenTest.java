@@ -0,0 +1,125 @@
+package com.moneylegal.auth.service;
+
+import com.moneylegal.IntegrationTestSupport;
+import com.moneylegal.auth.dto.AuthResponse;
+import com.moneylegal.auth.dto.RefreshTokenRequest;
+import com.moneylegal.auth.dto.RegisterRequest;
+import com.moneylegal.auth.entity.RefreshToken;
+import com.moneylegal.auth.repository.RefreshTokenRepository;
+import com.moneylegal.exception.UnauthorizedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Rotação de refresh token contra o MySQL: claim atômico, janela de 5s e revogação da família
+ * que precisa sobreviver à UnauthorizedException (noRollbackFor).
+ */
+class AuthServiceRefreshTokenTest extends IntegrationTestSupport {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void reuseAfterGraceWindow_revokesWholeFamily() {
+        String first = register("reuso").getRefreshToken();
+        String second = authService.refreshToken(request(first)).getRefreshToken();
+        leaveGraceWindow(first);
+
+        assertThatThrownBy(() -> authService.refreshToken(request(first)))
+                .isInstanceOf(UnauthorizedException.class);
+
+        // a revogação foi commitada apesar da exceção
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshToken.hash(second)))
+                .get()
+                .extracting(RefreshToken::getRevoked)
+                .isEqualTo(true);
+        assertThatThrownBy(() -> authService.refreshToken(request(second)))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    void reuseWithinGraceWindow_keepsFamily() {
+        String first = register("janela").getRefreshToken();
+        String second = authService.refreshToken(request(first)).getRefreshToken();
+
+        // refresh duplicado legítimo (app retomando): recusado, mas sem derrubar a sessão
+        assertThatThrownBy(() -> authService.refreshToken(request(first)))
+                .isInstanceOf(UnauthorizedException.class);
+
+        assertThat(authService.refreshToken(request(second)).getRefreshToken()).isNotBlank();
+    }
+
+    @Test
+    void concurrentRotation_hasSingleWinner() throws Exception {
+        String token = register("corrida").getRefreshToken();
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<AuthResponse> rotate = () -> {
+            start.await();
+            return authService.refreshToken(request(token));
+        };
+
+        List<Future<AuthResponse>> calls = List.of(pool.submit(rotate), pool.submit(rotate));
+        start.countDown();
+
+        List<AuthResponse> winners = new ArrayList<>();
+        int losers = 0;
+        try {
+            for (Future<AuthResponse> call : calls) {
+                try {
+                    winners.add(call.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(UnauthorizedException.class);
+                    losers++;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(winners).hasSize(1);
+        assertThat(losers).isEqualTo(1);
+
+        // o perdedor caiu na janela de corrida: o token do vencedor continua válido
+        assertThat(authService.refreshToken(request(winners.get(0).getRefreshToken())).getRefreshToken())
+                .isNotBlank();
+    }
+
+    private AuthResponse register(String name) {
+        return authService.register(RegisterRequest.builder()
+                .name("Teste " + name)
+                .email(name + ".refresh@moneylegal.test")
+                .password("senha-segura-123")
+                .build());
+    }
+
+    private void leaveGraceWindow(String token) {
+        jdbc.update("UPDATE refresh_tokens SET rotated_at = rotated_at - INTERVAL 1 MINUTE WHERE token_hash = ?",
+                (Object) RefreshToken.hash(token));
+    }
+
+    private static RefreshTokenRequest request(String token) {
+        return RefreshTokenRequest.builder().refreshToken(token).build();
+    }
+}
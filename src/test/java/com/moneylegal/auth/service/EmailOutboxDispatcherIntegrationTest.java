@@ -0,0 +1,186 @@
+package com.moneylegal.auth.service;
+
+import com.moneylegal.IntegrationTestSupport;
+import com.moneylegal.auth.entity.EmailOutboxMessage;
+import com.moneylegal.auth.repository.EmailOutboxRepository;
+import com.moneylegal.tools.FakeSendGridServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Outbox contra o MySQL e o FakeSendGridServer: enqueue -> dispatch -> SENT / retry / DEAD
+ * e o claim com FOR UPDATE SKIP LOCKED entre dois dispatchers.
+ */
+class EmailOutboxDispatcherIntegrationTest extends IntegrationTestSupport {
+
+    private static final FakeSendGridServer SENDGRID;
+
+    static {
+        try {
+            SENDGRID = FakeSendGridServer.start(0, 0, 0.0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void sendGrid(DynamicPropertyRegistry registry) {
+        registry.add("sendgrid.host", SENDGRID::host);
+    }
+
+    @AfterAll
+    static void stopSendGrid() {
+        SENDGRID.close();
+    }
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        SENDGRID.setFailureRate(0.0);
+    }
+
+    @Test
+    void enqueued_isDispatchedAndSent() {
+        emailService.sendVerificationEmail("pessoa@example.com", "token-verificacao", "Pessoa");
+        String id = outboxRepository.findAll().get(0).getId();
+        int requests = SENDGRID.requests();
+
+        dispatcher.dispatch();
+
+        EmailOutboxMessage sent = await(id, m -> m.getStatus() == EmailOutboxMessage.Status.SENT);
+        assertThat(sent.getAttempts()).isEqualTo(1);
+        assertThat(sent.getSentAt()).isNotNull();
+        assertThat(sent.getLockedUntil()).isNull();
+        assertThat(SENDGRID.requests()).isEqualTo(requests + 1);
+    }
+
+    @Test
+    void failures_areRescheduledThenDead() {
+        SENDGRID.setFailureRate(1.0);
+        String id = outboxRepository.save(message("falha@example.com", 1)).getId();
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher.dispatch();
+
+        EmailOutboxMessage retry = await(id, m -> m.getAttempts() == 1);
+        assertThat(retry.getStatus()).isEqualTo(EmailOutboxMessage.Status.PENDING);
+        assertThat(retry.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(10));
+        assertThat(retry.getLastError()).contains("503");
+
+        // ainda não venceu: nada é reivindicado
+        int requests = SENDGRID.requests();
+        dispatcher.dispatch();
+        assertThat(SENDGRID.requests()).isEqualTo(requests);
+
+        // última tentativa vencida -> DEAD
+        retry.setAttempts(5);
+        retry.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxRepository.save(retry);
+
+        dispatcher.dispatch();
+
+        EmailOutboxMessage dead = await(id, m -> m.getStatus() == EmailOutboxMessage.Status.DEAD);
+        assertThat(dead.getAttempts()).isEqualTo(6);
+        assertThat(dead.getLockedUntil()).isNull();
+    }
+
+    @Test
+    void concurrentClaims_skipLockedRows() throws Exception {
+        for (int i = 4; i >= 1; i--) {
+            outboxRepository.save(message("lote" + i + "@example.com", i));
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // primeiro dispatcher segura o lote dele aberto
+        CompletableFuture<List<String>> first = CompletableFuture.supplyAsync(() -> tx.execute(status -> {
+            List<String> ids = ids(outboxRepository.lockPendingBatch(LocalDateTime.now(), 2));
+            locked.countDown();
+            await(release);
+            return ids;
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        List<String> second;
+        try {
+            second = tx.execute(status -> ids(outboxRepository.lockPendingBatch(LocalDateTime.now(), 10)));
+        } finally {
+            release.countDown();
+        }
+
+        List<String> firstIds = first.get(10, TimeUnit.SECONDS);
+        assertThat(firstIds).hasSize(2);
+        assertThat(second).hasSize(2).doesNotContainAnyElementsOf(firstIds);
+    }
+
+    private static EmailOutboxMessage message(String recipient, int secondsAgo) {
+        EmailOutboxMessage message = EmailOutboxMessage.create(
+                recipient, "Assunto", "<p>corpo</p>", EmailOutboxMessage.Category.VERIFICATION);
+        message.setNextAttemptAt(LocalDateTime.now().minusSeconds(secondsAgo));
+        return message;
+    }
+
+    private static List<String> ids(List<EmailOutboxMessage> messages) {
+        return messages.stream().map(EmailOutboxMessage::getId).toList();
+    }
+
+    /**
+     * O envio roda no executor do dispatcher: espera o estado final no banco
+     */
+    private EmailOutboxMessage await(String id, Predicate<EmailOutboxMessage> condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            EmailOutboxMessage message = outboxRepository.findById(id).orElseThrow();
+            if (condition.test(message) || System.nanoTime() > deadline) {
+                return message;
+            }
+            sleep(50);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.moneylegal.auth.service;
+
+import com.moneylegal.auth.entity.EmailOutboxMessage;
+import com.moneylegal.auth.repository.EmailOutboxRepository;
+import com.moneylegal.config.SendGridConfig;
+import com.moneylegal.tools.FakeSendGridServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Dispatcher do outbox contra o FakeSendGridServer: SENT, agenda de retentativas e DEAD.
+ * O repositório é mock; o SKIP LOCKED real fica no EmailOutboxDispatcherIntegrationTest (MySQL).
+ */
+class EmailOutboxDispatcherTest {
+
+    private static final int MAX_ATTEMPTS = 6;
+    private static final long LEASE_SECONDS = 120;
+    private static final long WAIT_MS = 5_000;
+
+    private FakeSendGridServer sendGridServer;
+    private EmailOutboxRepository repository;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        sendGridServer = FakeSendGridServer.start(0, 0, 0.0);
+
+        SendGridConfig config = new SendGridConfig();
+        ReflectionTestUtils.setField(config, "apiKey", "SG.test");
+        ReflectionTestUtils.setField(config, "fromEmail", "noreply@moneylegal.test");
+        ReflectionTestUtils.setField(config, "fromName", "Money Legal");
+        ReflectionTestUtils.setField(config, "host", sendGridServer.host());
+
+        repository = mock(EmailOutboxRepository.class);
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        dispatcher = new EmailOutboxDispatcher(
+                repository,
+                new EmailService(config.sendGrid(), config, repository),
+                mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(),
+                1, 10, MAX_ATTEMPTS, LEASE_SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.shutdown();
+        sendGridServer.close();
+    }
+
+    @Test
+    void delivered_isMarkedSent() {
+        EmailOutboxMessage message = claimable(0);
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher.dispatch();
+
+        verify(repository, timeout(WAIT_MS)).markSent(eq(message.getId()), eq(1), any());
+        verify(repository, never()).markForRetry(anyString(), anyInt(), any(), any());
+        assertThat(sendGridServer.requests()).isEqualTo(1);
+
+        // reivindicada com lease antes do envio
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxMessage.Status.SENDING);
+        assertThat(message.getLockedUntil()).isAfterOrEqualTo(before.plusSeconds(LEASE_SECONDS));
+    }
+
+    @ParameterizedTest(name = "tentativa {0} falha -> nova tentativa em {1}s")
+    @CsvSource({"1, 10", "2, 30", "3, 120", "4, 600", "5, 1800"})
+    void failure_isRetriedOnSchedule(int attempt, long delaySeconds) {
+        sendGridServer.setFailureRate(1.0);
+        EmailOutboxMessage message = claimable(attempt - 1);
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher.dispatch();
+
+        ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository, timeout(WAIT_MS))
+                .markForRetry(eq(message.getId()), eq(attempt), nextAttemptAt.capture(), contains("503"));
+        assertThat(nextAttemptAt.getValue())
+                .isAfterOrEqualTo(before.plusSeconds(delaySeconds))
+                .isBefore(LocalDateTime.now().plusSeconds(delaySeconds + 1));
+        verify(repository, never()).markDead(anyString(), anyInt(), any());
+    }
+
+    @Test
+    void lastAttemptFailure_isDead() {
+        sendGridServer.setFailureRate(1.0);
+        EmailOutboxMessage message = claimable(MAX_ATTEMPTS - 1);
+
+        dispatcher.dispatch();
+
+        verify(repository, timeout(WAIT_MS)).markDead(eq(message.getId()), eq(MAX_ATTEMPTS), contains("503"));
+        verify(repository, never()).markForRetry(anyString(), anyInt(), any(), any());
+    }
+
+    @Test
+    void expiredLease_isReclaimedAfterPendingBatch() {
+        EmailOutboxMessage pending = claimable(0);
+        EmailOutboxMessage orphan = EmailOutboxMessage.create(
+                "outra@example.com", "Assunto", "<p>corpo</p>", EmailOutboxMessage.Category.WELCOME);
+        orphan.setId("msg-orfa");
+        orphan.markSending(LocalDateTime.now().minusSeconds(1));
+        when(repository.lockExpiredLeases(any(), eq(9))).thenReturn(List.of(orphan));
+
+        dispatcher.dispatch();
+
+        verify(repository, timeout(WAIT_MS)).markSent(eq(pending.getId()), eq(1), any());
+        verify(repository, timeout(WAIT_MS)).markSent(eq(orphan.getId()), eq(1), any());
+    }
+
+    /**
+     * Próximo lote reivindicado = esta mensagem (depois, lote vazio)
+     */
+    private EmailOutboxMessage claimable(int attempts) {
+        EmailOutboxMessage message = EmailOutboxMessage.create(
+                "pessoa@example.com", "Assunto", "<p>corpo</p>", EmailOutboxMessage.Category.VERIFICATION);
+        message.setId("msg-" + attempts);
+        message.setAttempts(attempts);
+        when(repository.lockPendingBatch(any(), anyInt())).thenReturn(List.of(message), List.of());
+        return message;
+    }
+}
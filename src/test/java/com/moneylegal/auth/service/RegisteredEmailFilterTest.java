@@ -0,0 +1,119 @@
+package com.moneylegal.auth.service;
+
+import com.moneylegal.auth.entity.User;
+import com.moneylegal.auth.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RegisteredEmailFilterTest {
+
+    private static final int USERS = 20_000;
+    private static final double FPP = 0.01;
+
+    private UserRepository userRepository;
+    private RegisteredEmailFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        filter = new RegisteredEmailFilter(userRepository, mock(PlatformTransactionManager.class), true, USERS, FPP);
+        // dimensionamento = max(expected-insertions, usuários * 2): assim o filtro fica com exatamente USERS
+        when(userRepository.count()).thenReturn((long) USERS / 2);
+    }
+
+    @Test
+    void registeredEmails_areNeverReportedAsFree() {
+        List<String> emails = emails("user", USERS);
+        when(userRepository.streamAllNormalizedEmails())
+                .thenAnswer(invocation -> emails.stream().map(User::normalizeEmail));
+
+        filter.rebuild();
+
+        assertThat(filter.isReady()).isTrue();
+        for (String email : emails) {
+            assertThat(filter.mightContain(email)).as(email).isTrue();
+            assertThat(filter.mightContain(email.toUpperCase())).as(email).isTrue();
+            assertThat(filter.mightContain("  " + email + " ")).as(email).isTrue();
+        }
+        assertThat(filter.definiteNegatives()).isZero();
+    }
+
+    @Test
+    void locallyAddedEmail_isFoundWithAnyCasing() {
+        when(userRepository.streamAllNormalizedEmails()).thenAnswer(invocation -> Stream.empty());
+        filter.rebuild();
+
+        filter.add(" Nova.Pessoa@Example.COM ");
+
+        assertThat(filter.mightContain("nova.pessoa@example.com")).isTrue();
+    }
+
+    @Test
+    void falsePositiveRate_isCloseToConfigured() {
+        List<String> emails = emails("user", USERS);
+        when(userRepository.streamAllNormalizedEmails())
+                .thenAnswer(invocation -> emails.stream().map(User::normalizeEmail));
+        filter.rebuild();
+
+        int probes = 200_000;
+        long falsePositives = emails("ausente", probes).stream().filter(filter::mightContain).count();
+        double observed = (double) falsePositives / probes;
+
+        assertThat(observed).isBetween(FPP * 0.5, FPP * 1.5);
+        assertThat(filter.estimatedFalsePositiveRate()).isBetween(FPP * 0.5, FPP * 1.5);
+    }
+
+    @Test
+    void beforeBuildFinishes_everythingMightBeRegistered() throws Exception {
+        CountDownLatch streaming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.streamAllNormalizedEmails()).thenAnswer(invocation -> {
+            streaming.countDown();
+            release.await();
+            return Stream.of("user0@example.com");
+        });
+
+        assertThat(filter.mightContain("qualquer@example.com")).isTrue();
+
+        Thread builder = new Thread(filter::rebuild);
+        builder.start();
+        assertThat(streaming.await(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(filter.isReady()).isFalse();
+        assertThat(filter.mightContain("qualquer@example.com")).isTrue();
+
+        release.countDown();
+        builder.join(1000);
+
+        assertThat(filter.isReady()).isTrue();
+        assertThat(filter.mightContain("user0@example.com")).isTrue();
+    }
+
+    @Test
+    void disabled_alwaysDefersToDatabase() {
+        RegisteredEmailFilter disabled = new RegisteredEmailFilter(
+                userRepository, mock(PlatformTransactionManager.class), false, USERS, FPP);
+
+        disabled.rebuild();
+
+        assertThat(disabled.isReady()).isFalse();
+        assertThat(disabled.mightContain("qualquer@example.com")).isTrue();
+    }
+
+    private static List<String> emails(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> prefix + i + "@Example.com")
+                .toList();
+    }
+}
@@ -0,0 +1,32 @@
+package com.moneylegal.persistence;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Asserções de quantidade de SQL para testes (sobre o QueryCounter).
+ * Ex.: {@code QueryAssertions.maxQueries(3, () -> mockMvc.perform(get("/api/v1/tenants")))}
+ */
+public final class QueryAssertions {
+
+    private QueryAssertions() {
+    }
+
+    /**
+     * Falha se o bloco executar mais de n statements; a mensagem lista os formatos repetidos (N+1)
+     */
+    public static <T> T maxQueries(int n, Callable<T> block) throws Exception {
+        T result;
+        QueryCounter.Scope scope = QueryCounter.open();
+        try {
+            result = block.call();
+        } finally {
+            scope.close();
+        }
+
+        if (scope.count() > n) {
+            throw new AssertionError("Esperado no máximo " + n + " query(s), executadas " + scope.count()
+                    + ". Repetidas: " + scope.repeatedShapes());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,67 @@
+package com.moneylegal.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryCounterTest {
+
+    private final QueryCounter counter = QueryCounter.INSTANCE;
+
+    @Test
+    void shapeOf_collapsesLiteralsAndInLists() {
+        assertThat(QueryCounter.shapeOf("select *  from users\n where id = 'abc' and age > 18"))
+                .isEqualTo("select * from users where id = ? and age > ?");
+        assertThat(QueryCounter.shapeOf("select * from users where id in (?, ?,?)"))
+                .isEqualTo("select * from users where id in (?)");
+    }
+
+    @Test
+    void outsideScope_isNotCounted() {
+        counter.inspect("select 1");
+
+        QueryCounter.Scope scope = QueryCounter.open();
+        scope.close();
+
+        assertThat(scope.count()).isZero();
+    }
+
+    @Test
+    void nestedScope_addsToParentOnClose() {
+        QueryCounter.Scope parent = QueryCounter.open();
+        counter.inspect("select * from tenants where id = ?");
+
+        QueryCounter.Scope child = QueryCounter.open();
+        counter.inspect("select * from users where id = ?");
+        counter.inspect("select * from users where id = ?");
+        child.close();
+        parent.close();
+
+        assertThat(child.count()).isEqualTo(2);
+        assertThat(parent.count()).isEqualTo(3);
+        assertThat(parent.repeatedShapes()).containsOnlyKeys("select * from users where id = ?");
+    }
+
+    @Test
+    void maxQueries_withinBudget_returnsResult() throws Exception {
+        String result = QueryAssertions.maxQueries(2, () -> {
+            counter.inspect("select * from tenants where id = ?");
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+    }
+
+    @Test
+    void maxQueries_overBudget_listsRepeatedShapes() {
+        assertThatThrownBy(() -> QueryAssertions.maxQueries(1, () -> {
+            counter.inspect("select * from users where id = 'a'");
+            counter.inspect("select * from users where id = 'b'");
+            return null;
+        }))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("executadas 2")
+                .hasMessageContaining("select * from users where id = ?=2");
+    }
+}
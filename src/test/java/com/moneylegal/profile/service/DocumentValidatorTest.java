@@ -0,0 +1,121 @@
+package com.moneylegal.profile.service;
+
+import com.moneylegal.profile.service.DocumentValidator.Result;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentValidatorTest {
+
+    // ----- CPF -----
+
+    @ParameterizedTest
+    @ValueSource(strings = {"52998224725", "11144477735", "529.982.247-25", "111 444 777 35", " 529.982.247-25 "})
+    void cpf_valid(String cpf) {
+        assertThat(DocumentValidator.validateCpf(cpf)).isEqualTo(Result.VALID);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "52998224724,    INVALID_CHECK_DIGITS",
+            "529.982.247-52, INVALID_CHECK_DIGITS",
+            "11111111111,    REPEATED_DIGITS",
+            "000.000.000-00, REPEATED_DIGITS",
+            "5299822472,     INVALID_LENGTH",
+            "529982247250,   INVALID_LENGTH",
+            "'',             INVALID_LENGTH",
+            "...-,           INVALID_LENGTH",
+            "5299822472A,    INVALID_CHARACTER",
+            "529_982_247_25, INVALID_CHARACTER"
+    })
+    void cpf_invalid(String cpf, Result expected) {
+        assertThat(DocumentValidator.validateCpf(cpf)).isEqualTo(expected);
+    }
+
+    @Test
+    void cpf_null() {
+        assertThat(DocumentValidator.validateCpf(null)).isEqualTo(Result.INVALID_LENGTH);
+    }
+
+    // ----- CNPJ -----
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "11222333000181", "11.222.333/0001-81",
+            // alfanumérico (exemplo da Receita), com e sem máscara, maiúsculo e minúsculo
+            "12ABC34501DE35", "12.ABC.345/01DE-35", "12abc34501de35", "12.aBc.345/01dE-35"
+    })
+    void cnpj_valid(String cnpj) {
+        assertThat(DocumentValidator.validateCnpj(cnpj)).isEqualTo(Result.VALID);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "11222333000182,     INVALID_CHECK_DIGITS",
+            "12ABC34501DE36,     INVALID_CHECK_DIGITS",
+            "12ABD34501DE35,     INVALID_CHECK_DIGITS",
+            "00000000000000,     REPEATED_DIGITS",
+            "11.111.111/1111-11, REPEATED_DIGITS",
+            "1122233300018,      INVALID_LENGTH",
+            "112223330001810,    INVALID_LENGTH",
+            "'',                 INVALID_LENGTH",
+            "12ABC34501DE3A,     INVALID_CHARACTER",
+            "12ABC34501DEA5,     INVALID_CHARACTER",
+            "12ÁBC34501DE35,     INVALID_CHARACTER",
+            "12#BC34501DE35,     INVALID_CHARACTER"
+    })
+    void cnpj_invalid(String cnpj, Result expected) {
+        assertThat(DocumentValidator.validateCnpj(cnpj)).isEqualTo(expected);
+    }
+
+    @Test
+    void cnpj_null() {
+        assertThat(DocumentValidator.validateCnpj(null)).isEqualTo(Result.INVALID_LENGTH);
+    }
+
+    @Test
+    void cnpj_repeatedLetters_areNotTreatedAsDigits() {
+        // 'A' vale 17: doze 'A' não é sequência repetida de dígito, os verificadores decidem
+        assertThat(DocumentValidator.validateCnpj("AAAAAAAAAAAA00")).isNotEqualTo(Result.REPEATED_DIGITS);
+    }
+
+    @Test
+    void cnpj_acceptsStringBuilder() {
+        assertThat(DocumentValidator.validateCnpj(new StringBuilder("11.222.333/0001-81"))).isEqualTo(Result.VALID);
+    }
+
+    // ----- lote -----
+
+    @Test
+    void batch_matchesSingleCalls() {
+        CharSequence[] cpfs = {"52998224725", "52998224724", "111.111.111-11", null, "123", "111.444.777-35"};
+        Result[] cpfResults = new Result[cpfs.length];
+
+        int validCpfs = DocumentValidator.validateCpfs(cpfs, cpfResults);
+
+        for (int i = 0; i < cpfs.length; i++) {
+            assertThat(cpfResults[i]).isEqualTo(DocumentValidator.validateCpf(cpfs[i]));
+        }
+        assertThat(validCpfs).isEqualTo(2);
+
+        CharSequence[] cnpjs = {"11222333000181", "12abc34501de35", "11222333000182", "00000000000000", "", null};
+        Result[] cnpjResults = new Result[cnpjs.length];
+
+        int validCnpjs = DocumentValidator.validateCnpjs(cnpjs, cnpjResults);
+
+        for (int i = 0; i < cnpjs.length; i++) {
+            assertThat(cnpjResults[i]).isEqualTo(DocumentValidator.validateCnpj(cnpjs[i]));
+        }
+        assertThat(validCnpjs).isEqualTo(2);
+    }
+
+    @Test
+    void batch_resultsArrayTooSmall_isRejected() {
+        assertThatThrownBy(() -> DocumentValidator.validateCpfs(new CharSequence[2], new Result[1]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.moneylegal.profile.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneylegal.profile.dto.AtividadeItemDTO;
+import com.moneylegal.profile.model.PessoaJuridicaAtividadeCategoria;
+import com.moneylegal.profile.model.PessoaJuridicaAtividadeItem;
+import com.moneylegal.profile.model.PessoaJuridicaNaturezaJuridica;
+import com.moneylegal.profile.model.PessoaJuridicaPorteEmpresa;
+import com.moneylegal.profile.repository.PessoaJuridicaAtividadeCategoriaRepository;
+import com.moneylegal.profile.repository.PessoaJuridicaAtividadeItemRepository;
+import com.moneylegal.profile.repository.PessoaJuridicaNaturezaJuridicaRepository;
+import com.moneylegal.profile.repository.PessoaJuridicaPorteEmpresaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PessoaJuridicaLookupsServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private PessoaJuridicaPorteEmpresaRepository porteRepo;
+    private PessoaJuridicaAtividadeItemRepository itemRepo;
+    private JdbcTemplate jdbcTemplate;
+    private PessoaJuridicaLookupsService service;
+
+    @BeforeEach
+    void setUp() {
+        porteRepo = mock(PessoaJuridicaPorteEmpresaRepository.class);
+        PessoaJuridicaNaturezaJuridicaRepository naturezaRepo = mock(PessoaJuridicaNaturezaJuridicaRepository.class);
+        PessoaJuridicaAtividadeCategoriaRepository categoriaRepo = mock(PessoaJuridicaAtividadeCategoriaRepository.class);
+        itemRepo = mock(PessoaJuridicaAtividadeItemRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+
+        when(porteRepo.findAllByIsActiveTrueOrderBySortOrderAscLabelAsc()).thenReturn(List.of(
+                PessoaJuridicaPorteEmpresa.builder().id("porte-me").label("ME").build()));
+        when(naturezaRepo.findAllByIsActiveTrueOrderBySortOrderAscLabelAsc()).thenReturn(List.of(
+                PessoaJuridicaNaturezaJuridica.builder().id("nat-ltda").label("LTDA").build()));
+        when(categoriaRepo.findAllByIsActiveTrueOrderBySortOrderAscLabelAsc()).thenReturn(List.of(
+                PessoaJuridicaAtividadeCategoria.builder().id("cat-servicos").label("Serviços").icon("briefcase").build()));
+        when(itemRepo.findAllByIsActiveTrueOrderBySortOrderAscLabelAsc()).thenReturn(List.of(
+                item("item-consultoria", "Consultoria"), item("item-design", "Design")));
+
+        service = new PessoaJuridicaLookupsService(
+                porteRepo, naturezaRepo, categoriaRepo, itemRepo, objectMapper, jdbcTemplate);
+    }
+
+    @Test
+    void unchangedVersion_keepsSnapshotWithoutReloading() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class))).thenReturn("v1");
+        service.loadOnStartup();
+        PessoaJuridicaLookupsSnapshot loaded = service.snapshot();
+
+        service.refreshPeriodically();
+        service.refreshPeriodically();
+
+        assertThat(service.snapshot()).isSameAs(loaded);
+        verify(porteRepo, times(1)).findAllByIsActiveTrueOrderBySortOrderAscLabelAsc();
+    }
+
+    @Test
+    void changedVersion_swapsSnapshotAndEtag() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class))).thenReturn("v1", "v2");
+        service.loadOnStartup();
+        PessoaJuridicaLookupsSnapshot loaded = service.snapshot();
+
+        when(itemRepo.findAllByIsActiveTrueOrderBySortOrderAscLabelAsc()).thenReturn(List.of(
+                item("item-consultoria", "Consultoria")));
+        service.refreshPeriodically();
+
+        PessoaJuridicaLookupsSnapshot current = service.snapshot();
+        assertThat(current).isNotSameAs(loaded);
+        assertThat(current.allJson().etag()).isNotEqualTo(loaded.allJson().etag());
+        assertThat(current.atividadeItemAtivo("item-design")).isNull();
+    }
+
+    @Test
+    void views_matchPreRenderedJsonAndCannotBeChanged() throws Exception {
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class))).thenReturn("v1");
+        PessoaJuridicaLookupsSnapshot snapshot = service.refresh();
+
+        assertThat(objectMapper.writeValueAsBytes(snapshot.all())).isEqualTo(snapshot.allJson().body());
+        assertThat(objectMapper.writeValueAsBytes(service.listAtividades())).isEqualTo(snapshot.atividadesJson().body());
+        assertThat(objectMapper.writeValueAsBytes(service.listPortes())).isEqualTo(snapshot.portesJson().body());
+
+        List<AtividadeItemDTO> items = service.listAtividades().get(0).getItems();
+        assertThatThrownBy(() -> items.add(new AtividadeItemDTO("x", "x", null)))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> service.listAtividades().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private static PessoaJuridicaAtividadeItem item(String id, String label) {
+        return PessoaJuridicaAtividadeItem.builder().id(id).categoryId("cat-servicos").label(label).build();
+    }
+}
@@ -0,0 +1,196 @@
+package com.moneylegal.profile.service;
+
+import com.moneylegal.config.RestTemplateConfig;
+import com.moneylegal.profile.cep.CepIndexLoader;
+import com.moneylegal.profile.dto.ViaCepResponseDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ViaCepService contra um stub HTTP local (JDK HttpServer) no base-url configurável
+ */
+class ViaCepServiceTest {
+
+    private static final String FOUND = "01001000";
+    private static final String NOT_FOUND = "99999999";
+    private static final String SERVER_ERROR = "50000000";
+    private static final String SLOW = "40000000";
+
+    private static final long READ_TIMEOUT_MS = 500;
+    private static final long TTL_MINUTES = 1440;
+    private static final long NEGATIVE_TTL_MINUTES = 10;
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private volatile long foundDelayMs;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private ViaCepService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext("/ws/", this::handle);
+        server.start();
+
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        service = new ViaCepService(
+                new RestTemplateConfig().viaCepRestTemplate(baseUrl, 1000, READ_TIMEOUT_MS),
+                new CepIndexLoader(""),
+                new SimpleMeterRegistry(),
+                1000, TTL_MINUTES, NEGATIVE_TTL_MINUTES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void concurrentLookupsOfSameCep_makeSingleUpstreamCall() throws Exception {
+        // a primeira resposta demora (abaixo do read timeout): as demais consultas chegam com a chamada em andamento
+        foundDelayMs = 200;
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<ViaCepResponseDTO>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return service.consultarCep("01001-000");
+                }));
+            }
+            start.countDown();
+
+            for (Future<ViaCepResponseDTO> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getLogradouro()).isEqualTo("Praça da Sé");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(upstreamCalls(FOUND)).isEqualTo(1);
+        assertThat(service.cacheExpiresAfter(FOUND)).hasValueSatisfying(ttl ->
+                assertThat(ttl).isGreaterThan(Duration.ofMinutes(TTL_MINUTES - 1)));
+    }
+
+    @Test
+    void notFound_isCachedWithNegativeTtl() {
+        assertThatThrownBy(() -> service.consultarCep(NOT_FOUND)).hasMessageContaining("CEP não encontrado");
+        assertThatThrownBy(() -> service.consultarCep(NOT_FOUND)).hasMessageContaining("CEP não encontrado");
+
+        assertThat(upstreamCalls(NOT_FOUND)).isEqualTo(1);
+        assertThat(service.cacheExpiresAfter(NOT_FOUND)).hasValueSatisfying(ttl -> assertThat(ttl)
+                .isLessThanOrEqualTo(Duration.ofMinutes(NEGATIVE_TTL_MINUTES))
+                .isGreaterThan(Duration.ofMinutes(NEGATIVE_TTL_MINUTES - 1)));
+    }
+
+    @Test
+    void serverError_isNotCached() {
+        assertThatThrownBy(() -> service.consultarCep(SERVER_ERROR)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> service.consultarCep(SERVER_ERROR)).isInstanceOf(RuntimeException.class);
+
+        assertThat(upstreamCalls(SERVER_ERROR)).isEqualTo(2);
+        assertThat(service.cacheExpiresAfter(SERVER_ERROR)).isEmpty();
+    }
+
+    @Test
+    void timeout_isNotCached() {
+        assertThatThrownBy(() -> service.consultarCep(SLOW)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> service.consultarCep(SLOW)).isInstanceOf(RuntimeException.class);
+
+        assertThat(upstreamCalls(SLOW)).isEqualTo(2);
+        assertThat(service.cacheExpiresAfter(SLOW)).isEmpty();
+    }
+
+    @Test
+    void callerChanges_doNotReachCachedValue() {
+        ViaCepResponseDTO first = service.consultarCep(FOUND);
+        first.setLogradouro("alterado pelo chamador");
+
+        ViaCepResponseDTO second = service.consultarCep(FOUND);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getLogradouro()).isEqualTo("Praça da Sé");
+        assertThat(upstreamCalls(FOUND)).isEqualTo(1);
+    }
+
+    private int upstreamCalls(String cep) {
+        AtomicInteger count = calls.get(cep);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * /ws/{cep}/json/ com a resposta definida pelo CEP
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        String cep = exchange.getRequestURI().getPath().split("/")[2];
+        calls.computeIfAbsent(cep, key -> new AtomicInteger()).incrementAndGet();
+
+        try {
+            switch (cep) {
+                case FOUND -> {
+                    sleep(foundDelayMs);
+                    respond(exchange, 200, """
+                            {"cep": "01001-000", "logradouro": "Praça da Sé", "bairro": "Sé",
+                             "localidade": "São Paulo", "uf": "SP", "ibge": "3550308", "ddd": "11"}
+                            """);
+                }
+                case NOT_FOUND -> respond(exchange, 200, "{\"erro\": \"true\"}");
+                case SLOW -> {
+                    sleep(READ_TIMEOUT_MS * 2);
+                    respond(exchange, 200, "{}");
+                }
+                default -> respond(exchange, 500, "{}");
+            }
+        } catch (IOException e) {
+            // cliente já desistiu (timeout)
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.moneylegal.security;
+
+import com.moneylegal.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        // 1 thread + 1 na fila = 2 vagas; admissão de 100ms
+        executor = new PasswordHashingExecutor(new BlockingEncoder(), new SimpleMeterRegistry(), 1, 1, 100, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void admittedHash_isNotCancelledWhenSlowerThanAdmissionTimeout() throws Exception {
+        CompletableFuture<String> hash = CompletableFuture.supplyAsync(() -> executor.encode("senha"));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        Thread.sleep(300); // bem acima do tempo de admissão
+        release.countDown();
+
+        assertThat(hash.get(1, TimeUnit.SECONDS)).isEqualTo("hash:senha");
+        assertThat(executor.rejectedCount()).isZero();
+    }
+
+    @Test
+    void noSlotWithinAdmissionTimeout_rejectsWith503() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.encode("a"));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.encode("b"));
+        waitUntil(() -> executor.queueDepth() == 1);
+
+        assertThatThrownBy(() -> executor.encode("c")).isInstanceOf(ServiceOverloadedException.class);
+        assertThat(executor.rejectedCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(1, TimeUnit.SECONDS)).isEqualTo("hash:a");
+        assertThat(queued.get(1, TimeUnit.SECONDS)).isEqualTo("hash:b");
+
+        // vagas devolvidas
+        assertThat(executor.encode("d")).isEqualTo("hash:d");
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * "Hash" que só termina quando o teste libera
+     */
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
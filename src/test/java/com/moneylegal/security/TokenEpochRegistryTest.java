@@ -0,0 +1,84 @@
+package com.moneylegal.security;
+
+import com.moneylegal.auth.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenEpochRegistryTest {
+
+    private UserRepository userRepository;
+    private TokenEpochRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+        when(jwtTokenProvider.getAccessTokenExpiration()).thenReturn(900_000L);
+        registry = new TokenEpochRegistry(userRepository, jwtTokenProvider, 60_000L);
+    }
+
+    @Test
+    void refresh_loadsEpochsFromDatabase() {
+        when(userRepository.findTokenEpochsChangedSince(any())).thenReturn(List.of(view("u1", 2)));
+
+        registry.refresh();
+
+        assertThat(registry.isRevoked("u1", 1)).isTrue();
+        assertThat(registry.isRevoked("u1", 2)).isFalse();
+        assertThat(registry.isRevoked("u2", 0)).isFalse();
+    }
+
+    @Test
+    void refresh_keepsEpochRecordedWhileReading() {
+        // logout-all commita depois da leitura do banco e antes do fim do refresh
+        when(userRepository.findTokenEpochsChangedSince(any())).thenAnswer(invocation -> {
+            registry.record("u1", 3);
+            return List.of(view("u1", 2));
+        });
+
+        registry.refresh();
+
+        assertThat(registry.isRevoked("u1", 2)).isTrue();
+    }
+
+    @Test
+    void refresh_keepsRecordedEpochNotYetInDatabase() {
+        registry.record("u1", 1);
+        when(userRepository.findTokenEpochsChangedSince(any())).thenReturn(List.of());
+
+        registry.refresh();
+
+        assertThat(registry.isRevoked("u1", 0)).isTrue();
+    }
+
+    @Test
+    void refresh_failure_keepsCurrentTable() {
+        registry.record("u1", 1);
+        when(userRepository.findTokenEpochsChangedSince(any())).thenThrow(new RuntimeException("db down"));
+
+        registry.refresh();
+
+        assertThat(registry.isRevoked("u1", 0)).isTrue();
+    }
+
+    private static UserRepository.TokenEpochView view(String id, int epoch) {
+        return new UserRepository.TokenEpochView() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getTokenEpoch() {
+                return epoch;
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.moneylegal.tools;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SendGrid fake para testar o outbox de emails localmente (sem tocar no SendGrid real).
+ *
+ * Usado pelos testes do EmailOutboxDispatcher (start na porta 0) e avulso (fora do jar de produção):
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *       -Dexec.args="-classpath %classpath com.moneylegal.tools.FakeSendGridServer 4010 50 0.1"
+ *   SENDGRID_HOST=localhost:4010 (aplicação)
+ *
+ * Responde POST /v3/mail/send com 202, ou 503 conforme a taxa de falha (exercita retry/dead-letter).
+ */
+@Slf4j
+public class FakeSendGridServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final long latencyMs;
+    private volatile double failureRate;
+
+    private FakeSendGridServer(HttpServer server, long latencyMs, double failureRate) {
+        this.server = server;
+        this.executor = Executors.newCachedThreadPool();
+        this.latencyMs = latencyMs;
+        this.failureRate = failureRate;
+
+        server.setExecutor(executor);
+        server.createContext("/v3/mail/send", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                long bytes = body.readAllBytes().length;
+                requests.incrementAndGet();
+
+                if (this.latencyMs > 0) {
+                    Thread.sleep(this.latencyMs);
+                }
+
+                int status = ThreadLocalRandom.current().nextDouble() < this.failureRate ? 503 : 202;
+                log.info("[FAKE-SENDGRID] {} {} bytes -> {}", exchange.getRequestMethod(), bytes, status);
+
+                exchange.sendResponseHeaders(status, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.sendResponseHeaders(500, -1);
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    /**
+     * Sobe o servidor (porta 0 = porta livre)
+     */
+    public static FakeSendGridServer start(int port, long latencyMs, double failureRate) throws IOException {
+        FakeSendGridServer fake = new FakeSendGridServer(
+                HttpServer.create(new InetSocketAddress("localhost", port), 0), latencyMs, failureRate);
+        fake.server.start();
+        log.info("[FAKE-SENDGRID] Ouvindo em http://{} (latência={}ms, falhas={})", fake.host(), latencyMs, failureRate);
+        return fake;
+    }
+
+    /**
+     * Valor para sendgrid.host
+     */
+    public String host() {
+        return "localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Chamadas recebidas em /v3/mail/send
+     */
+    public int requests() {
+        return requests.get();
+    }
+
+    /**
+     * 0.0 = sempre 202, 1.0 = sempre 503
+     */
+    public void setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 4010;
+        long latencyMs = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        double failureRate = args.length > 2 ? Double.parseDouble(args[2]) : 0.0;
+
+        start(port, latencyMs, failureRate);
+    }
+}
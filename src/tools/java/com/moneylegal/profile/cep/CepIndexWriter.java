@@ -0,0 +1,221 @@
+package com.moneylegal.profile.cep;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Gera o índice binário de CEPs ({@link CepIndex}) a partir de um CSV.
+ *
+ * - Primeira linha = cabeçalho com os nomes das colunas: cep, logradouro, complemento, bairro,
+ *   localidade (ou cidade), uf, ibge, ddd; só "cep" é obrigatória
+ * - Separador ',' ou ';' (detectado no cabeçalho), campos entre aspas aceitos
+ * - CEP repetido: vale a última linha
+ * - Escreve em arquivo temporário e troca com move atômico (o CepIndexLoader recarrega sozinho)
+ *
+ * Ferramenta de build (src/tools, fora do jar de produção):
+ *   mvn -Pcep-index process-test-classes -Dcep.csv=ceps.csv -Dcep.index=data/cep.idx
+ */
+@Slf4j
+public final class CepIndexWriter {
+
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+
+    private CepIndexWriter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Uso: CepIndexWriter <entrada.csv> <saida.idx>");
+        }
+
+        long start = System.nanoTime();
+        int count = write(Path.of(args[0]), Path.of(args[1]));
+        log.info("Índice de CEP gerado: {} CEPs em {} ({} ms)", count, args[1], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Retorna a quantidade de CEPs escritos
+     */
+    public static int write(Path csv, Path output) throws IOException {
+        TreeMap<Integer, String[]> rows = readCsv(csv);
+
+        // pool deduplicado; offset 0 = string vazia
+        Map<String, Integer> poolOffsets = new HashMap<>();
+        List<byte[]> pool = new ArrayList<>();
+        int poolSize = 0;
+        poolOffsets.put("", 0);
+        pool.add(new byte[0]);
+        poolSize += 2;
+
+        int fieldCount = CepIndex.FIELDS.length;
+        int[] records = new int[rows.size() * fieldCount];
+        int record = 0;
+        for (String[] fields : rows.values()) {
+            for (int f = 0; f < fieldCount; f++) {
+                String value = fields[f];
+                Integer offset = poolOffsets.get(value);
+                if (offset == null) {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    if (bytes.length > MAX_STRING_BYTES) {
+                        throw new IOException("Campo " + CepIndex.FIELDS[f] + " maior que " + MAX_STRING_BYTES + " bytes");
+                    }
+                    offset = poolSize;
+                    poolOffsets.put(value, offset);
+                    pool.add(bytes);
+                    poolSize += 2 + bytes.length;
+                }
+                records[record * fieldCount + f] = offset;
+            }
+            record++;
+        }
+
+        long total = CepIndex.HEADER_BYTES + (long) rows.size() * 4 * (1 + fieldCount) + poolSize;
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("Índice de CEP excede 2 GB");
+        }
+
+        Path absolute = output.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(CepIndex.MAGIC);
+                out.writeInt(CepIndex.VERSION);
+                out.writeInt(rows.size());
+                out.writeInt(fieldCount);
+                for (int cep : rows.keySet()) {
+                    out.writeInt(cep);
+                }
+                for (int offset : records) {
+                    out.writeInt(offset);
+                }
+                for (byte[] bytes : pool) {
+                    out.writeShort(bytes.length);
+                    out.write(bytes);
+                }
+            }
+            Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        return rows.size();
+    }
+
+    private static TreeMap<Integer, String[]> readCsv(Path csv) throws IOException {
+        TreeMap<Integer, String[]> rows = new TreeMap<>();
+        int skipped = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IOException("CSV vazio: " + csv);
+            }
+            if (header.startsWith("\uFEFF")) header = header.substring(1);
+
+            char separator = header.indexOf(';') >= 0 ? ';' : ',';
+            List<String> columns = parseLine(header, separator);
+            int cepColumn = -1;
+            int[] fieldColumns = new int[CepIndex.FIELDS.length];
+            Arrays.fill(fieldColumns, -1);
+            for (int c = 0; c < columns.size(); c++) {
+                String name = columns.get(c).trim().toLowerCase(Locale.ROOT);
+                if (name.equals("cidade")) name = "localidade";
+                if (name.equals("cep")) cepColumn = c;
+                for (int f = 0; f < CepIndex.FIELDS.length; f++) {
+                    if (CepIndex.FIELDS[f].equals(name)) fieldColumns[f] = c;
+                }
+            }
+            if (cepColumn < 0) {
+                throw new IOException("CSV sem coluna \"cep\" no cabeçalho: " + csv);
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+
+                List<String> values = parseLine(line, separator);
+                int cep = cepColumn < values.size() ? parseCep(values.get(cepColumn)) : -1;
+                if (cep < 0) {
+                    skipped++;
+                    continue;
+                }
+
+                String[] fields = new String[CepIndex.FIELDS.length];
+                for (int f = 0; f < fields.length; f++) {
+                    int c = fieldColumns[f];
+                    fields[f] = c >= 0 && c < values.size() ? values.get(c).trim() : "";
+                }
+                rows.put(cep, fields);
+            }
+        }
+
+        if (skipped > 0) {
+            log.warn("{} linhas ignoradas (CEP inválido)", skipped);
+        }
+        return rows;
+    }
+
+    /**
+     * CEP com 8 dígitos (pontuação ignorada) ou -1
+     */
+    static int parseCep(String value) {
+        int cep = 0;
+        int digits = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > 8) return -1;
+                cep = cep * 10 + (c - '0');
+            } else if (c != '-' && c != '.' && c != ' ') {
+                return -1;
+            }
+        }
+        return digits == 8 ? cep : -1;
+    }
+
+    private static List<String> parseLine(String line, char separator) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}